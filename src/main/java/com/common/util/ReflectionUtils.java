@@ -1,9 +1,23 @@
 package com.common.util;
 
+import org.apache.commons.beanutils.NestedNullException;
 import org.apache.commons.beanutils.PropertyUtils;
 
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.*;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
 
 
 /**
@@ -29,4 +43,329 @@ public class ReflectionUtils {
 
         return (T) PropertyUtils.getProperty(o, field);
     }
+
+    /**
+     * 生成属性的读取函数，用于需要反复读取同一属性的场景
+     * 普通属性通过LambdaMetafactory生成直接调用getter的函数，无法生成时使用MethodHandle；
+     * Map类型直接按Key读取；嵌套属性（如a.b）通过PropertyUtils读取，Map中有同名Key时仍按Key读取
+     * 读取函数中getter抛出的异常将原样抛出，受检异常包装成UndeclaredThrowableException
+     *
+     * @param clazz    对象类型
+     * @param property 属性名称
+     * @return 属性读取函数
+     * @throws NoSuchMethodException 属性不存在或者不可读
+     */
+    public static Function<Object, Object> getter(Class<?> clazz, String property) throws NoSuchMethodException {
+        boolean isMap = Map.class.isAssignableFrom(clazz);
+        if (property.indexOf('.') >= 0) {
+            return o -> {
+                if (isMap && ((Map<?, ?>) o).containsKey(property)) {
+                    return ((Map<?, ?>) o).get(property);
+                }
+
+                try {
+                    return PropertyUtils.getProperty(o, property);
+                } catch (NestedNullException e) {
+                    // Map中缺少中间的Key时与按Key读取一样返回空
+                    if (isMap) {
+                        return null;
+                    }
+                    throw e;
+                } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            };
+        }
+
+        if (isMap) {
+            return o -> ((Map<?, ?>) o).get(property);
+        }
+
+        Method readMethod = getReadMethod(clazz, property);
+        try {
+            if (Modifier.isPublic(readMethod.getDeclaringClass().getModifiers()) && isVisible(readMethod.getDeclaringClass())) {
+                return lambdaGetter(readMethod);
+            }
+        } catch (Throwable ignored) {
+            // 无法生成Lambda时使用MethodHandle
+        }
+
+        try {
+            readMethod.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(readMethod)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return o -> {
+                try {
+                    return (Object) handle.invokeExact(o);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new NoSuchMethodException("属性" + property + "不可读：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 生成属性的写入函数，用于需要反复写入同一属性的场景
+     * 普通属性通过LambdaMetafactory生成直接调用setter的函数，无法生成时使用MethodHandle；
+     * Map类型直接按Key写入；嵌套属性（如a.b）仍通过PropertyUtils写入
+     * 写入函数中setter抛出的异常将原样抛出，受检异常包装成UndeclaredThrowableException
+     *
+     * @param clazz    对象类型
+     * @param property 属性名称
+     * @return 属性写入函数
+     * @throws NoSuchMethodException 属性不存在或者不可写
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> setter(Class<?> clazz, String property) throws NoSuchMethodException {
+        if (Map.class.isAssignableFrom(clazz)) {
+            return (o, value) -> ((Map<String, Object>) o).put(property, value);
+        }
+
+        if (property.indexOf('.') >= 0) {
+            return (o, value) -> {
+                try {
+                    PropertyUtils.setProperty(o, property, value);
+                } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            };
+        }
+
+        Method writeMethod = getWriteMethod(clazz, property);
+        try {
+            if (Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers()) && isVisible(writeMethod.getDeclaringClass())) {
+                return lambdaSetter(writeMethod);
+            }
+        } catch (Throwable ignored) {
+            // 无法生成Lambda时使用MethodHandle
+        }
+
+        try {
+            writeMethod.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(writeMethod)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (o, value) -> {
+                try {
+                    handle.invokeExact(o, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new NoSuchMethodException("属性" + property + "不可写：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 生成基本类型属性的写入函数，写入时不装箱
+     * 适用于int、short、byte、char属性，写入short、byte、char时按强制类型转换截断
+     *
+     * @param clazz    对象类型
+     * @param property 属性名称，不支持嵌套属性
+     * @return 属性写入函数
+     * @throws NoSuchMethodException 属性不存在、不可写或者不是以上类型
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjIntConsumer<Object> intSetter(Class<?> clazz, String property) throws NoSuchMethodException {
+        MethodHandle handle = primitiveSetter(clazz, property, int.class, short.class, byte.class, char.class);
+        ObjIntConsumer<Object> lambda = (ObjIntConsumer<Object>) lambdaSetter(handle, ObjIntConsumer.class, int.class);
+        if (null != lambda) {
+            return lambda;
+        }
+
+        MethodHandle castHandle = MethodHandles.explicitCastArguments(handle,
+                MethodType.methodType(void.class, Object.class, int.class));
+        return (o, value) -> {
+            try {
+                castHandle.invokeExact(o, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    /**
+     * 生成long属性的写入函数，写入时不装箱
+     *
+     * @param clazz    对象类型
+     * @param property 属性名称，不支持嵌套属性
+     * @return 属性写入函数
+     * @throws NoSuchMethodException 属性不存在、不可写或者不是long类型
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjLongConsumer<Object> longSetter(Class<?> clazz, String property) throws NoSuchMethodException {
+        MethodHandle handle = primitiveSetter(clazz, property, long.class);
+        ObjLongConsumer<Object> lambda = (ObjLongConsumer<Object>) lambdaSetter(handle, ObjLongConsumer.class, long.class);
+        if (null != lambda) {
+            return lambda;
+        }
+
+        MethodHandle castHandle = handle.asType(MethodType.methodType(void.class, Object.class, long.class));
+        return (o, value) -> {
+            try {
+                castHandle.invokeExact(o, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    /**
+     * 生成浮点属性的写入函数，写入时不装箱
+     * 适用于double、float属性，写入float时按强制类型转换
+     *
+     * @param clazz    对象类型
+     * @param property 属性名称，不支持嵌套属性
+     * @return 属性写入函数
+     * @throws NoSuchMethodException 属性不存在、不可写或者不是以上类型
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjDoubleConsumer<Object> doubleSetter(Class<?> clazz, String property) throws NoSuchMethodException {
+        MethodHandle handle = primitiveSetter(clazz, property, double.class, float.class);
+        ObjDoubleConsumer<Object> lambda = (ObjDoubleConsumer<Object>) lambdaSetter(handle, ObjDoubleConsumer.class, double.class);
+        if (null != lambda) {
+            return lambda;
+        }
+
+        MethodHandle castHandle = MethodHandles.explicitCastArguments(handle,
+                MethodType.methodType(void.class, Object.class, double.class));
+        return (o, value) -> {
+            try {
+                castHandle.invokeExact(o, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    /**
+     * 获取可写属性的类型，包括从父类继承的属性
+     *
+     * @param clazz    对象类型
+     * @param property 属性名称，不支持嵌套属性
+     * @return 属性类型
+     * @throws NoSuchMethodException 属性不存在或者不可写
+     */
+    public static Class<?> getPropertyType(Class<?> clazz, String property) throws NoSuchMethodException {
+        return getWriteMethod(clazz, property).getParameterTypes()[0];
+    }
+
+    private static Method getWriteMethod(Class<?> clazz, String property) throws NoSuchMethodException {
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+                if (descriptor.getName().equals(property) && null != descriptor.getWriteMethod()) {
+                    return descriptor.getWriteMethod();
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new NoSuchMethodException("解析类" + clazz.getName() + "失败：" + e.getMessage());
+        }
+
+        throw new NoSuchMethodException("类" + clazz.getName() + "中不存在可写属性" + property);
+    }
+
+    private static Method getReadMethod(Class<?> clazz, String property) throws NoSuchMethodException {
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+                if (descriptor.getName().equals(property) && null != descriptor.getReadMethod()) {
+                    return descriptor.getReadMethod();
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new NoSuchMethodException("解析类" + clazz.getName() + "失败：" + e.getMessage());
+        }
+
+        throw new NoSuchMethodException("类" + clazz.getName() + "中不存在可读属性" + property);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> lambdaGetter(Method readMethod) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(readMethod);
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                handle.type().wrap());
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> lambdaSetter(Method writeMethod) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(writeMethod);
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                handle.type().wrap().changeReturnType(void.class));
+        return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    /**
+     * 基本类型属性的setter
+     *
+     * @param types 允许的属性类型
+     */
+    private static MethodHandle primitiveSetter(Class<?> clazz, String property, Class<?>... types) throws NoSuchMethodException {
+        Method writeMethod = getWriteMethod(clazz, property);
+        Class<?> propertyType = writeMethod.getParameterTypes()[0];
+        if (!Arrays.asList(types).contains(propertyType)) {
+            throw new NoSuchMethodException("属性" + property + "的类型" + propertyType.getName() + "不是" + Arrays.toString(types));
+        }
+
+        try {
+            writeMethod.setAccessible(true);
+            return MethodHandles.lookup().unreflect(writeMethod);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new NoSuchMethodException("属性" + property + "不可写：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 生成直接调用基本类型setter的Lambda，setter参数类型与valueType不同或者无法生成时返回空
+     */
+    private static Object lambdaSetter(MethodHandle handle, Class<?> functionType, Class<?> valueType) {
+        Class<?> declaringClass = handle.type().parameterType(0);
+        if (valueType != handle.type().parameterType(1)
+                || !Modifier.isPublic(declaringClass.getModifiers()) || !isVisible(declaringClass)) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(functionType),
+                    MethodType.methodType(void.class, Object.class, valueType),
+                    handle,
+                    handle.type().changeReturnType(void.class));
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            // 无法生成Lambda时使用MethodHandle
+            return null;
+        }
+    }
+
+    /**
+     * 生成的Lambda类由当前类的ClassLoader加载，类型对其不可见时（如热部署的ClassLoader）不能使用Lambda
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, ReflectionUtils.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
 }
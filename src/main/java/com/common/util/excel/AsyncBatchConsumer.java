@@ -0,0 +1,167 @@
+package com.common.util.excel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 在后台线程中处理导入的数据批次
+ * 解析线程将批次放入有界队列后继续解析，队列满时等待；
+ * 处理失败时解析线程在放入下一批或结束时抛出同一个异常
+ * 后台处理在所有导入共享的线程池中执行；提前结束时不中断正在处理的批次，等其处理完成后丢弃未处理的批次，
+ * 因此抛出异常时已经处理的批次可能已经生效（如已写入数据库）
+ *
+ * @version V1.0
+ **/
+class AsyncBatchConsumer<T> implements Consumer<List<T>>, AutoCloseable {
+    /**
+     * 解析结束标记
+     */
+    private final List<T> end = new ArrayList<>(0);
+
+    private final Consumer<List<T>> consumer;
+    private final BlockingQueue<List<T>> queue;
+    private final Future<?> worker;
+
+    /**
+     * 后台处理是否已开始，提前结束时后台处理还没开始则不再开始
+     */
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile Throwable error;
+    private volatile boolean consumed;
+    private volatile boolean cancelled;
+    private boolean finished;
+
+    AsyncBatchConsumer(Consumer<List<T>> consumer, int queueCapacity) {
+        this.consumer = consumer;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.worker = ExcelExecutors.consumers().submit(this::consume);
+    }
+
+    private void consume() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            while (!cancelled) {
+                List<T> batch = queue.take();
+                if (batch == end) {
+                    consumed = true;
+                    return;
+                }
+                if (cancelled) {
+                    return;
+                }
+                consumer.accept(batch);
+            }
+        } catch (InterruptedException ignored) {
+        } catch (Throwable e) {
+            error = e;
+            queue.clear();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    @Override
+    public void accept(List<T> batch) {
+        put(batch);
+    }
+
+    /**
+     * 等待所有批次处理完成
+     *
+     * @throws RuntimeException 处理过程中抛出的异常，处理线程未处理完所有批次时抛出 CancellationException
+     */
+    void finish() {
+        put(end);
+        try {
+            worker.get();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("导入被中断");
+        } catch (ExecutionException e) {
+            // consume中已捕获所有异常
+            error = e.getCause();
+        }
+
+        finished = true;
+        rethrowError();
+        if (!consumed) {
+            throw new CancellationException("导入数据处理线程已结束");
+        }
+    }
+
+    private void put(List<T> batch) {
+        try {
+            while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                checkWorker();
+            }
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("导入被中断");
+        }
+
+        rethrowError();
+    }
+
+    private void checkWorker() {
+        rethrowError();
+        if (worker.isDone()) {
+            throw new CancellationException("导入数据处理线程已结束");
+        }
+    }
+
+    private void rethrowError() {
+        Throwable e = error;
+        if (null == e) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalStateException(e);
+    }
+
+    /**
+     * 未正常结束时停止后台处理并丢弃未处理的批次
+     * 正在处理的批次不中断，等待其处理完成后返回
+     */
+    @Override
+    public void close() {
+        if (finished || cancelled) {
+            return;
+        }
+
+        cancelled = true;
+        queue.clear();
+        if (started.compareAndSet(false, true)) {
+            // 后台处理还没开始
+            worker.cancel(false);
+            return;
+        }
+
+        // 唤醒等待批次的后台处理
+        queue.offer(end);
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
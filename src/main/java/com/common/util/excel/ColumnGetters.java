@@ -0,0 +1,61 @@
+package com.common.util.excel;
+
+import com.common.util.ReflectionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 导出列的属性读取函数
+ * 每个（数据类型，属性列表）只解析一次，导出时按列下标直接调用
+ * 缓存挂在数据类型上（ClassValue），不会阻止热部署后旧的类加载器被回收
+ *
+ * @version V1.0
+ **/
+class ColumnGetters {
+    private static final ClassValue<Map<List<String>, Function<Object, Object>[]>> CACHE =
+            new ClassValue<Map<List<String>, Function<Object, Object>[]>>() {
+                @Override
+                protected Map<List<String>, Function<Object, Object>[]> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>(4);
+                }
+            };
+
+    private ColumnGetters() {
+    }
+
+    /**
+     * 获取各列的读取函数
+     *
+     * @param clazz      数据类型
+     * @param properties 各列的属性，为空的列不需要读取，对应位置返回空
+     * @return 与properties一一对应的读取函数
+     */
+    static Function<Object, Object>[] of(Class<?> clazz, String[] properties) {
+        return CACHE.get(clazz).computeIfAbsent(Arrays.asList(properties.clone()), key -> compile(clazz, key));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object>[] compile(Class<?> clazz, List<String> properties) {
+        Function<Object, Object>[] getters = new Function[properties.size()];
+        for (int i = 0; i < getters.length; i++) {
+            String property = properties.get(i);
+            if (null == property) {
+                continue;
+            }
+
+            try {
+                getters[i] = ReflectionUtils.getter(clazz, property);
+            } catch (NoSuchMethodException e) {
+                throw ExcelException.of(ExcelErrorCodes.GET_OBJECT_FIELD_VALUE_ERROR)
+                        .params(property)
+                        .details("读取对象属性值失败，错误消息：" + e.getMessage());
+            }
+        }
+
+        return getters;
+    }
+}
@@ -0,0 +1,39 @@
+package com.common.util.excel;
+
+/**
+ * 流式读取时需要读取的列
+ * 按标题导入时读取标题行后设置，之后的行中未选择的列不再解析单元格值
+ * 只在解析线程中设置及读取
+ *
+ * @version V1.0
+ **/
+class ColumnSelection {
+    private boolean[] selected;
+
+    /**
+     * 设置需要读取的列
+     *
+     * @param columnIndexes 列序号，小于0的忽略
+     */
+    void select(int[] columnIndexes) {
+        int max = -1;
+        for (int index : columnIndexes) {
+            max = Math.max(max, index);
+        }
+
+        boolean[] selected = new boolean[max + 1];
+        for (int index : columnIndexes) {
+            if (index >= 0) {
+                selected[index] = true;
+            }
+        }
+        this.selected = selected;
+    }
+
+    /**
+     * 是否需要读取该列，未设置时读取所有列
+     */
+    boolean isSelected(int columnIndex) {
+        return null == selected || (columnIndex < selected.length && selected[columnIndex]);
+    }
+}
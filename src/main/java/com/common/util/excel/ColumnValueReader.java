@@ -0,0 +1,86 @@
+package com.common.util.excel;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 导出时按列读取数据对象的值
+ * 有直接值的列使用直接值，否则通过按数据类型解析一次的读取函数从对象中读取
+ * 非线程安全，每个写入线程使用单独的实例
+ *
+ * @version V1.0
+ **/
+class ColumnValueReader<T> {
+    private static final Logger logger = LoggerFactory.getLogger(ColumnValueReader.class);
+
+    /**
+     * 需要从对象中读取的属性及直接值，按列下标存储
+     */
+    private final String[] properties;
+    private final Object[] directValues;
+
+    private Class<?> getterClass;
+    private Function<Object, Object>[] getters;
+    private T row;
+
+    ColumnValueReader(List<ExcelColumn<T>> columnList) {
+        int columnCount = columnList.size();
+        this.properties = new String[columnCount];
+        this.directValues = new Object[columnCount];
+
+        for (int col = 0; col < columnCount; col++) {
+            ExcelColumn<T> column = columnList.get(col);
+            if (StringUtils.isBlank(column.getProperty())) {
+                continue;
+            }
+
+            if (null != column.getDirectValue()) {
+                directValues[col] = column.getDirectValue();
+            } else {
+                properties[col] = column.getProperty();
+            }
+        }
+    }
+
+    int getColumnCount() {
+        return properties.length;
+    }
+
+    /**
+     * 设置当前读取的数据对象，对象类型变化时重新获取读取函数
+     */
+    void setRow(T row) {
+        this.row = row;
+        if (null != row && (null == getterClass || !getterClass.isInstance(row))) {
+            getterClass = row.getClass();
+            getters = ColumnGetters.of(getterClass, properties);
+        }
+    }
+
+    /**
+     * 读取当前数据对象指定列的值
+     *
+     * @param col 列下标
+     * @return 列的值，可能为空
+     */
+    Object getValue(int col) {
+        // 如果有直接值，那么不从对象中读取
+        Object value = directValues[col];
+        if (null != value || null == properties[col] || null == row) {
+            return value;
+        }
+
+        try {
+            return getters[col].apply(row);
+        } catch (RuntimeException e) {
+            logger.error("读取对象属性值失败", e);
+            throw ExcelException.of(ExcelErrorCodes.GET_OBJECT_FIELD_VALUE_ERROR)
+                    .params(properties[col])
+                    .details("读取对象属性值失败，错误消息：" + e.getMessage());
+        }
+    }
+}
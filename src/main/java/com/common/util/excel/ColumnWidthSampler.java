@@ -0,0 +1,107 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.List;
+
+/**
+ * 根据写入时采样的数据估算列宽
+ * 只统计每个Sheet页的前sampleSize行，按文本长度计算宽度，中文等全角字符按两个字符计算；
+ * 不使用autoSizeColumn，不需要AWT字体度量，也不需要再次遍历数据
+ * 非线程安全，每个写入线程使用单独的实例
+ *
+ * @version V1.0
+ **/
+class ColumnWidthSampler<T> {
+    /**
+     * 列宽的上下限（字符数）
+     */
+    private static final int MIN_WIDTH = 8;
+    private static final int MAX_WIDTH = 60;
+
+    /**
+     * 单元格两侧留白（字符数）
+     */
+    private static final int PADDING = 2;
+
+    private final ExcelValueFormatter formatter = new ExcelValueFormatter();
+    private final int sampleSize;
+    private final int[] widths;
+    private int sampledRows;
+
+    ColumnWidthSampler(List<ExcelColumn<T>> columnList, int sampleSize) {
+        this.sampleSize = sampleSize;
+        this.widths = new int[columnList.size()];
+        for (int col = 0; col < widths.length; col++) {
+            widths[col] = displayWidth(columnList.get(col).getTitle());
+        }
+    }
+
+    /**
+     * 是否还需要采样
+     */
+    boolean isSampling() {
+        return sampledRows < sampleSize;
+    }
+
+    /**
+     * 采样一个单元格的值
+     *
+     * @param col   列序号
+     * @param value 值，不能为空
+     */
+    void sample(int col, Object value) {
+        if (widths[col] < MAX_WIDTH) {
+            widths[col] = Math.max(widths[col], displayWidth(formatter.format(value)));
+        }
+    }
+
+    /**
+     * 一行采样完成
+     */
+    void endRow() {
+        sampledRows++;
+    }
+
+    /**
+     * 将估算的列宽设置到Sheet页
+     */
+    void apply(Sheet sheet) {
+        if (sampleSize <= 0) {
+            return;
+        }
+
+        for (int col = 0; col < widths.length; col++) {
+            int width = Math.min(Math.max(widths[col] + PADDING, MIN_WIDTH), MAX_WIDTH);
+            sheet.setColumnWidth(col, width * 256);
+        }
+    }
+
+    /**
+     * 文本显示宽度，全角字符按两个字符计算
+     */
+    static int displayWidth(String text) {
+        if (null == text) {
+            return 0;
+        }
+
+        int width = 0;
+        for (int i = 0, length = text.length(); i < length && width < MAX_WIDTH; i++) {
+            width += isWide(text.charAt(i)) ? 2 : 1;
+        }
+        return width;
+    }
+
+    /**
+     * 是否为全角字符（中日韩文字、全角符号等）
+     */
+    private static boolean isWide(char c) {
+        return c >= '\u1100' && (c <= '\u115F'
+                || (c >= '\u2E80' && c <= '\uA4CF')
+                || (c >= '\uAC00' && c <= '\uD7A3')
+                || (c >= '\uF900' && c <= '\uFAFF')
+                || (c >= '\uFE30' && c <= '\uFE4F')
+                || (c >= '\uFF00' && c <= '\uFF60')
+                || (c >= '\uFFE0' && c <= '\uFFE6'));
+    }
+}
@@ -0,0 +1,248 @@
+package com.common.util.excel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * CSV/TSV导出辅助类
+ * 与ExcelUtils使用相同的列定义及值格式化规则，直接写入文本，不创建POI对象
+ * 按RFC-4180输出：字段包含分隔符、双引号或换行时使用双引号包裹，行以CRLF结束
+ *
+ * @version V1.0
+ **/
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CsvUtils {
+    private final static Logger logger = LoggerFactory.getLogger(CsvUtils.class);
+
+    public static final char COMMA = ',';
+    public static final char TAB = '\t';
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 1000;
+    private static final String LINE_SEPARATOR = "\r\n";
+    static final char UTF8_BOM = '\uFEFF';
+
+    /**
+     * 将数据写入到Writer中，第一行为列标题
+     * 写入完成后刷新Writer，但不关闭
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 列信息
+     * @param writer     输出
+     * @param delimiter  分隔符，如COMMA、TAB
+     * @param <T>        数据对象类型
+     */
+    public static <T> void write(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            Writer writer,
+            char delimiter) {
+        write(iterator, columnList, writer, delimiter, null);
+    }
+
+    /**
+     * 将数据写入到Writer中，写入过程中通知进度
+     *
+     * @param progressListener 进度监听，参数为新写入的数据行数，可以为空
+     */
+    static <T> void write(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            Writer writer,
+            char delimiter,
+            LongConsumer progressListener) {
+        try {
+            Utils.write(iterator, columnList, writer, delimiter, progressListener);
+            writer.flush();
+        } catch (IOException e) {
+            logger.error("写入CSV失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 将数据以UTF-8编码写入到输出流中，第一行为列标题
+     * 写入完成后刷新输出流，但不关闭
+     *
+     * @param iterator     数据迭代器
+     * @param columnList   列信息
+     * @param outputStream 输出流
+     * @param delimiter    分隔符，如COMMA、TAB
+     * @param <T>          数据对象类型
+     */
+    public static <T> void write(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            OutputStream outputStream,
+            char delimiter) {
+        write(iterator, columnList, newWriter(outputStream), delimiter);
+    }
+
+    /**
+     * 基于NIO通道的带缓冲UTF-8输出
+     */
+    static Writer newWriter(OutputStream outputStream) {
+        return new BufferedWriter(Channels.newWriter(Channels.newChannel(outputStream),
+                StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+    /**
+     * 将数据以UTF-8编码写入到输出流中，第一行为列标题
+     *
+     * @param dataList     数据集
+     * @param columnList   列信息
+     * @param outputStream 输出流
+     * @param delimiter    分隔符，如COMMA、TAB
+     * @param <T>          数据对象类型
+     */
+    public static <T> void write(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            OutputStream outputStream,
+            char delimiter) {
+        write(null == dataList ? Collections.<T>emptyIterator() : dataList.iterator(), columnList, outputStream, delimiter);
+    }
+
+    /**
+     * 逐行导出CSV/TSV到返回流中
+     * 写入UTF-8的BOM，以便Excel能正确识别中文
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 列信息
+     * @param delimiter  分隔符，如COMMA、TAB
+     * @param response   返回流
+     * @param fileName   文件名
+     * @param <T>        数据对象类型
+     */
+    public static <T> void writeCsvToResponse(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            char delimiter,
+            HttpServletResponse response,
+            String fileName) {
+        response.setContentType((TAB == delimiter ? "text/tab-separated-values" : "text/csv") + ";charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+        try {
+            Writer writer = newWriter(response.getOutputStream());
+            writer.write(UTF8_BOM);
+            write(iterator, columnList, writer, delimiter);
+        } catch (IOException e) {
+            logger.error("下载CSV失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 导出CSV/TSV到返回流中
+     *
+     * @param dataList   数据集
+     * @param columnList 列信息
+     * @param delimiter  分隔符，如COMMA、TAB
+     * @param response   返回流
+     * @param fileName   文件名
+     * @param <T>        数据对象类型
+     */
+    public static <T> void writeCsvToResponse(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            char delimiter,
+            HttpServletResponse response,
+            String fileName) {
+        writeCsvToResponse(null == dataList ? Collections.<T>emptyIterator() : dataList.iterator(),
+                columnList, delimiter, response, fileName);
+    }
+
+    private static class Utils {
+        private static <T> void write(
+                Iterator<T> iterator,
+                List<ExcelColumn<T>> columnList,
+                Writer writer,
+                char delimiter,
+                LongConsumer progressListener) throws IOException {
+            int columnCount = columnList.size();
+
+            // 标题行
+            for (int col = 0; col < columnCount; col++) {
+                if (col > 0) {
+                    writer.write(delimiter);
+                }
+                writeField(writer, columnList.get(col).getTitle(), delimiter);
+            }
+            writer.write(LINE_SEPARATOR);
+
+            ColumnValueReader<T> valueReader = new ColumnValueReader<>(columnList);
+            ExcelValueFormatter formatter = new ExcelValueFormatter();
+            long rowCount = 0;
+            while (iterator.hasNext()) {
+                valueReader.setRow(iterator.next());
+                for (int col = 0; col < columnCount; col++) {
+                    if (col > 0) {
+                        writer.write(delimiter);
+                    }
+
+                    Object value = valueReader.getValue(col);
+                    if (null != value) {
+                        writeField(writer, formatter.format(value), delimiter);
+                    }
+                }
+                writer.write(LINE_SEPARATOR);
+
+                if (null != progressListener && ++rowCount % PROGRESS_INTERVAL == 0) {
+                    progressListener.accept(PROGRESS_INTERVAL);
+                }
+            }
+
+            if (null != progressListener && rowCount % PROGRESS_INTERVAL != 0) {
+                progressListener.accept(rowCount % PROGRESS_INTERVAL);
+            }
+        }
+
+        /**
+         * 写入单个字段，需要时使用双引号包裹并转义其中的双引号
+         */
+        private static void writeField(Writer writer, String value, char delimiter) throws IOException {
+            if (null == value) {
+                return;
+            }
+
+            boolean quote = false;
+            for (int i = 0, length = value.length(); i < length; i++) {
+                char c = value.charAt(i);
+                if (c == delimiter || c == '"' || c == '\r' || c == '\n') {
+                    quote = true;
+                    break;
+                }
+            }
+
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+
+            writer.write('"');
+            int start = 0;
+            for (int i = 0, length = value.length(); i < length; i++) {
+                if (value.charAt(i) == '"') {
+                    writer.write(value, start, i + 1 - start);
+                    writer.write('"');
+                    start = i + 1;
+                }
+            }
+            writer.write(value, start, value.length() - start);
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * 导出时的单元格写入器
+ * 文本列按文本写入；其它列根据值的类型写入数字、布尔及日期单元格，日期格式的样式按列缓存
+ * 超出double精度的数值（超过2^53的整数、超过15位有效数字的小数）仍按文本写入，避免丢失精度
+ * 非线程安全，每次导出使用单独的实例
+ *
+ * @version V1.0
+ **/
+class ExcelCellWriter {
+    /**
+     * 1899-12-30与1970-01-01之间的天数，Excel日期序列号以1899-12-30为0
+     */
+    private static final long EXCEL_EPOCH_OFFSET = 25569;
+    private static final double SECONDS_PER_DAY = 86400;
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    /**
+     * double能精确表示的最大整数2^53
+     */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    /**
+     * Excel数字单元格最多保留的有效数字位数
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private final ExcelStyleRegistry styleRegistry;
+    private final ExcelColumnType[] types;
+    private final ExcelStyle[] styles;
+    private final CellStyle[] contentStyles;
+    private final CellStyle[] dateStyles;
+    private final CellStyle[] dateTimeStyles;
+    private final ExcelValueFormatter formatter = new ExcelValueFormatter();
+    private final TimeZone timeZone = TimeZone.getDefault();
+
+    <T> ExcelCellWriter(ExcelStyleRegistry styleRegistry, List<ExcelColumn<T>> columnList) {
+        int columnCount = columnList.size();
+        this.styleRegistry = styleRegistry;
+        this.types = new ExcelColumnType[columnCount];
+        this.styles = new ExcelStyle[columnCount];
+        this.contentStyles = new CellStyle[columnCount];
+        this.dateStyles = new CellStyle[columnCount];
+        this.dateTimeStyles = new CellStyle[columnCount];
+
+        for (int col = 0; col < columnCount; col++) {
+            ExcelColumn<T> column = columnList.get(col);
+            types[col] = column.getType();
+            styles[col] = null == column.getStyle() ? ExcelStyle.content() : column.getStyle();
+            contentStyles[col] = styleRegistry.getStyle(styles[col]);
+        }
+    }
+
+    /**
+     * 写入空单元格的样式
+     */
+    void writeEmpty(Cell cell, int col) {
+        cell.setCellStyle(contentStyles[col]);
+    }
+
+    /**
+     * 写入单元格的值
+     *
+     * @param cell  单元格
+     * @param col   列下标
+     * @param value 值，不能为空
+     */
+    void write(Cell cell, int col, Object value) {
+        if (ExcelColumnType.TEXT != types[col]) {
+            if (value instanceof Number && isExactDouble((Number) value)) {
+                cell.setCellStyle(contentStyles[col]);
+                cell.setCellValue(((Number) value).doubleValue());
+                return;
+            } else if (value instanceof Boolean) {
+                cell.setCellStyle(contentStyles[col]);
+                cell.setCellValue((Boolean) value);
+                return;
+            } else if (value instanceof Date) {
+                long millis = ((Date) value).getTime();
+                if (writeDate(cell, col, (millis + timeZone.getOffset(millis)) / (double) MILLIS_PER_DAY, false)) {
+                    return;
+                }
+            } else if (value instanceof LocalDate) {
+                if (writeDate(cell, col, ((LocalDate) value).toEpochDay(), false)) {
+                    return;
+                }
+            } else if (value instanceof LocalDateTime) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                double days = dateTime.toLocalDate().toEpochDay() + dateTime.toLocalTime().toNanoOfDay() / 1e9 / SECONDS_PER_DAY;
+                if (writeDate(cell, col, days, true)) {
+                    return;
+                }
+            }
+        }
+
+        cell.setCellStyle(contentStyles[col]);
+        cell.setCellValue(formatter.format(value));
+    }
+
+    /**
+     * 数值能否不丢失精度地写成数字单元格，不能的（如超过2^53的ID）按文本写入
+     */
+    private static boolean isExactDouble(Number value) {
+        if (value instanceof Long) {
+            long l = value.longValue();
+            return l <= MAX_EXACT_LONG && l >= -MAX_EXACT_LONG;
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() <= 53;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            if (0 == decimal.signum()) {
+                return true;
+            }
+
+            double d = decimal.doubleValue();
+            return decimal.stripTrailingZeros().precision() <= MAX_EXACT_DIGITS && 0 != d && !Double.isInfinite(d);
+        }
+
+        return true;
+    }
+
+    /**
+     * 按Excel日期序列号写入日期
+     *
+     * @param epochDays 距1970-01-01的天数，含小数部分的时间
+     * @return Excel不支持的日期（1900年之前）返回false，由调用方按文本写入
+     */
+    private boolean writeDate(Cell cell, int col, double epochDays, boolean withTime) {
+        double serial = epochDays + EXCEL_EPOCH_OFFSET;
+        if (serial < 1) {
+            return false;
+        }
+
+        // Excel将1900年视为闰年，1900-03-01之前的序列号比实际少一天
+        if (serial < 61) {
+            serial -= 1;
+        }
+
+        cell.setCellStyle(withTime ? dateTimeStyle(col) : dateStyle(col));
+        cell.setCellValue(serial);
+        return true;
+    }
+
+    private CellStyle dateStyle(int col) {
+        if (null == dateStyles[col]) {
+            dateStyles[col] = dateStyleOf(col, ExcelValueFormatter.DATE_FORMAT);
+        }
+
+        return dateStyles[col];
+    }
+
+    private CellStyle dateTimeStyle(int col) {
+        if (null == dateTimeStyles[col]) {
+            dateTimeStyles[col] = dateStyleOf(col, ExcelValueFormatter.DATE_TIME_FORMAT);
+        }
+
+        return dateTimeStyles[col];
+    }
+
+    /**
+     * 列指定了数据格式时使用列的格式，否则使用默认的日期格式
+     */
+    private CellStyle dateStyleOf(int col, String format) {
+        if (null != styles[col].getDataFormat()) {
+            return contentStyles[col];
+        }
+
+        return styleRegistry.getStyle(styles[col].copy().setDataFormat(format));
+    }
+}
@@ -3,6 +3,7 @@ package com.common.util.excel;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.poi.ss.usermodel.Cell;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,6 +20,8 @@ public class ExcelColumn<T> {
 
     /**
      * 数据处理
+     * 注意：从文件导入时单元格来自流式读取，只能读取单元格本身的值、样式及所在的行，
+     * cell.getSheet()及cell.getRow().getSheet()返回null，需要Sheet页的信息时请改用Sheet参数的read方法
      */
     private BiConsumer<T, Cell> dataHandler;
 
@@ -36,6 +39,17 @@ public class ExcelColumn<T> {
      */
     private List<String> selectedValues;
 
+    /**
+     * 导出时内容单元格的样式，为空时使用默认的内容样式
+     * 相同样式的单元格在同一个Workbook中共享同一个CellStyle
+     */
+    private ExcelStyle style;
+
+    /**
+     * 按标题导入时可以匹配的其它标题
+     */
+    private List<String> aliases;
+
     public ExcelColumn() {
     }
 
@@ -129,6 +143,41 @@ public class ExcelColumn<T> {
         return this;
     }
 
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public ExcelColumn<T> setAliases(List<String> aliases) {
+        this.aliases = aliases;
+        return this;
+    }
+
+    public ExcelColumn<T> setAliases(String... aliases) {
+        this.aliases = Arrays.asList(aliases);
+        return this;
+    }
+
+    public ExcelStyle getStyle() {
+        return style;
+    }
+
+    public ExcelColumn<T> setStyle(ExcelStyle style) {
+        this.style = style;
+        return this;
+    }
+
+    /**
+     * 设置导出时的数据格式，如"#,##0.00"，在默认内容样式的基础上应用该格式
+     * 已设置的样式可能被多个列共用，复制后再修改
+     *
+     * @param dataFormat 数据格式
+     * @return 当前列
+     */
+    public ExcelColumn<T> setDataFormat(String dataFormat) {
+        this.style = (null == this.style ? ExcelStyle.content() : this.style.copy()).setDataFormat(dataFormat);
+        return this;
+    }
+
     /**
      * 如果有序列值，那么进行对应的处理
      * @param consumer
@@ -153,6 +202,13 @@ public class ExcelColumn<T> {
         return dataHandler;
     }
 
+    /**
+     * 设置数据处理函数，导入时代替默认的转换
+     * 从文件导入时cell.getSheet()返回null，见dataHandler的说明
+     *
+     * @param dataHandler 数据处理函数
+     * @return 当前列
+     */
     public ExcelColumn<T> setDataHandler(BiConsumer<T, Cell> dataHandler) {
         this.dataHandler = dataHandler;
         return this;
@@ -19,4 +19,11 @@ public class ExcelErrorCodes {
     public static final String FILE_NOT_EXCEL = "01010";
     public static final String FIELD_NOT_EXISTS = "01011";
     public static final String DATA_COLUMN_EMPTY = "01012";
+    public static final String EXPORT_REJECTED = "01013";
+    public static final String EXPORT_JOB_NOT_FOUND = "01014";
+    public static final String EXPORT_JOB_NOT_FINISHED = "01015";
+    public static final String EXPORT_MEMORY_EXCEEDED = "01016";
+    public static final String READ_TEXT_ERROR = "01017";
+    public static final String TITLE_NOT_FOUND = "01018";
+    public static final String SHEET_NOT_FOUND = "01019";
 }
@@ -0,0 +1,183 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 收集导入的数据及校验错误，按行顺序接收转换结果
+ * 需要时同时生成标注了错误的Excel副本：复制每一行的值，错误单元格以底色标出，并在最后一列写入错误信息
+ *
+ * @version V1.0
+ **/
+class ExcelErrorCollector<T> {
+    private static final String ERROR_TITLE = "错误信息";
+    private static final String GENERAL_FORMAT = "General";
+
+    private final int maxErrors;
+    private final List<T> data = new ArrayList<>(16);
+    private final List<ExcelReadError> errors = new ArrayList<>(16);
+    private long errorCount;
+
+    private SXSSFWorkbook workbook;
+    private ExcelStyleRegistry styleRegistry;
+    private Sheet sheet;
+    private int errorColumn;
+
+    /**
+     * @param maxErrors   最多保留的错误数
+     * @param annotate    是否生成标注了错误的Excel副本
+     * @param columnCount 导入的列数
+     */
+    ExcelErrorCollector(int maxErrors, boolean annotate, int columnCount) {
+        this.maxErrors = maxErrors;
+        this.errorColumn = columnCount;
+        if (annotate) {
+            workbook = new SXSSFWorkbook(ExcelExportOptions.DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+            workbook.setCompressTempFiles(true);
+            styleRegistry = ExcelStyleRegistry.of(workbook);
+            sheet = workbook.createSheet();
+        }
+    }
+
+    /**
+     * 接收标题行
+     */
+    void title(Row row) {
+        if (null == sheet) {
+            return;
+        }
+
+        errorColumn = Math.max(errorColumn, row.getLastCellNum());
+        Row target = copyRow(row, null);
+        Cell cell = target.createCell(errorColumn);
+        cell.setCellValue(ERROR_TITLE);
+        cell.setCellStyle(styleRegistry.getStyle(ExcelStyle.title()));
+    }
+
+    /**
+     * 按行顺序接收一行的转换结果
+     */
+    void accept(BoundRow<T> bound) {
+        if (bound.errors.isEmpty()) {
+            data.add(bound.value);
+        } else {
+            errorCount += bound.errors.size();
+            for (ExcelReadError error : bound.errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        if (null != sheet) {
+            Row target = copyRow(bound.row, bound.errors);
+            if (!bound.errors.isEmpty()) {
+                StringBuilder message = new StringBuilder();
+                for (ExcelReadError error : bound.errors) {
+                    if (message.length() > 0) {
+                        message.append("；");
+                    }
+                    message.append(error.getMessage());
+                }
+                target.createCell(errorColumn).setCellValue(message.toString());
+            }
+        }
+    }
+
+    ExcelReadResult<T> result() {
+        return new ExcelReadResult<>(data, errors, errorCount, workbook);
+    }
+
+    /**
+     * 导入失败时清理标注副本的临时文件
+     */
+    void dispose() {
+        if (null != workbook) {
+            workbook.dispose();
+        }
+    }
+
+    private Row copyRow(Row source, List<ExcelReadError> rowErrors) {
+        Row target = sheet.createRow(source.getRowNum());
+        for (Cell cell : source) {
+            int col = cell.getColumnIndex();
+            if (col >= errorColumn) {
+                continue;
+            }
+
+            Cell targetCell = target.createCell(col);
+            copyValue(cell, targetCell);
+
+            boolean error = false;
+            if (null != rowErrors) {
+                for (ExcelReadError rowError : rowErrors) {
+                    error |= rowError.getColumnIndex() == col;
+                }
+            }
+
+            String format = null == cell.getCellStyle() ? null : cell.getCellStyle().getDataFormatString();
+            if (error || (null != format && !GENERAL_FORMAT.equals(format))) {
+                ExcelStyle style = ExcelStyle.of();
+                if (null != format && !GENERAL_FORMAT.equals(format)) {
+                    style.setDataFormat(format);
+                }
+                if (error) {
+                    style.setFillColor(IndexedColors.ROSE.getIndex());
+                }
+                targetCell.setCellStyle(styleRegistry.getStyle(style));
+            }
+        }
+
+        // 空单元格在标注副本中同样需要标出
+        if (null != rowErrors) {
+            for (ExcelReadError rowError : rowErrors) {
+                int col = rowError.getColumnIndex();
+                if (col >= 0 && col < errorColumn && null == target.getCell(col)) {
+                    target.createCell(col).setCellStyle(styleRegistry.getStyle(ExcelStyle.of().setFillColor(IndexedColors.ROSE.getIndex())));
+                }
+            }
+        }
+
+        return target;
+    }
+
+    private static void copyValue(Cell source, Cell target) {
+        switch (source.getCellType()) {
+            case Cell.CELL_TYPE_STRING:
+                target.setCellValue(source.getStringCellValue());
+                break;
+            case Cell.CELL_TYPE_NUMERIC:
+                target.setCellValue(source.getNumericCellValue());
+                break;
+            case Cell.CELL_TYPE_BOOLEAN:
+                target.setCellValue(source.getBooleanCellValue());
+                break;
+            case Cell.CELL_TYPE_ERROR:
+                target.setCellErrorValue(source.getErrorCellValue());
+                break;
+            case Cell.CELL_TYPE_FORMULA:
+                target.setCellFormula(source.getCellFormula());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 一行的转换结果
+     */
+    static class BoundRow<T> {
+        private final Row row;
+        private final T value;
+        private final List<ExcelReadError> errors;
+
+        BoundRow(Row row, T value, List<ExcelReadError> errors) {
+            this.row = row;
+            this.value = value;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.common.util.excel;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导入使用的共享线程池，所有导入共用，并发导入时线程总数不会随导入数增加
+ * 按任务类型分成不同的线程池：Sheet页解析任务会等待行转换任务，放在同一个线程池中可能互相等待；
+ * 线程池在第一次使用时创建，空闲的线程超过一分钟后退出
+ *
+ * @version V1.0
+ **/
+final class ExcelExecutors {
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private ExcelExecutors() {
+    }
+
+    /**
+     * 行转换线程池，线程数为CPU核数
+     */
+    static ExecutorService conversion() {
+        return ConversionHolder.EXECUTOR;
+    }
+
+    /**
+     * Sheet页解析线程池，线程数为CPU核数
+     */
+    static ExecutorService sheets() {
+        return SheetsHolder.EXECUTOR;
+    }
+
+    /**
+     * 异步批次处理线程池，批次处理通常在等待数据库，线程数为CPU核数的2倍；
+     * 线程都在使用时新的导入等待空闲的线程，期间解析在队列满后等待
+     */
+    static ExecutorService consumers() {
+        return ConsumersHolder.EXECUTOR;
+    }
+
+    private static ExecutorService newPool(String name, int threads) {
+        AtomicInteger threadNo = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class ConversionHolder {
+        private static final ExecutorService EXECUTOR = newPool("excel-import", PROCESSORS);
+    }
+
+    private static class SheetsHolder {
+        private static final ExecutorService EXECUTOR = newPool("excel-sheet", PROCESSORS);
+    }
+
+    private static class ConsumersHolder {
+        private static final ExecutorService EXECUTOR = newPool("excel-import-consumer", 2 * PROCESSORS);
+    }
+}
@@ -0,0 +1,46 @@
+package com.common.util.excel;
+
+/**
+ * 导出方式
+ *
+ * @version V1.0
+ **/
+public enum ExcelExportEngine {
+    /**
+     * 2003格式，整个Workbook保存在内存中
+     */
+    HSSF(".xls"),
+
+    /**
+     * 2007格式，整个Workbook保存在内存中
+     */
+    XSSF(".xlsx"),
+
+    /**
+     * 2007格式，流式写入，内存中只保留最近的若干行
+     */
+    SXSSF(".xlsx"),
+
+    /**
+     * CSV文本，不创建Workbook
+     */
+    CSV(".csv");
+
+    private final String suffix;
+
+    ExcelExportEngine(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * 将文件名的后缀替换成当前导出方式对应的后缀
+     */
+    public String toFileName(String fileName) {
+        int index = fileName.lastIndexOf('.');
+        return (index < 0 ? fileName : fileName.substring(0, index)) + suffix;
+    }
+}
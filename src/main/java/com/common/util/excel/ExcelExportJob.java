@@ -0,0 +1,186 @@
+package com.common.util.excel;
+
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步导出任务
+ *
+ * @version V1.0
+ **/
+public class ExcelExportJob {
+    public enum Status {
+        /**
+         * 等待执行
+         */
+        WAITING,
+
+        /**
+         * 执行中
+         */
+        RUNNING,
+
+        /**
+         * 已完成，可以下载
+         */
+        FINISHED,
+
+        /**
+         * 执行失败
+         */
+        FAILED,
+
+        /**
+         * 已取消
+         */
+        CANCELLED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final long estimatedTotal;
+    private final long createTime;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile Status status = Status.WAITING;
+    private volatile String errorMessage;
+    private volatile long finishTime;
+    private volatile Path file;
+    private volatile Future<?> future;
+
+    ExcelExportJob(String id, String fileName, long estimatedTotal) {
+        this.id = id;
+        this.fileName = fileName;
+        this.estimatedTotal = estimatedTotal;
+        this.createTime = System.currentTimeMillis();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 已写入的数据行数
+     */
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * 提交任务时预估的总行数，未知时为0
+     */
+    public long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+
+    /**
+     * 导出进度，0~1之间；预估总行数未知时返回-1
+     */
+    public double getProgress() {
+        if (Status.FINISHED == status) {
+            return 1;
+        }
+
+        return estimatedTotal > 0 ? Math.min(1, (double) rowsWritten.get() / estimatedTotal) : -1;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public long getFinishTime() {
+        return finishTime;
+    }
+
+    public boolean isDone() {
+        return Status.FINISHED == status || Status.FAILED == status || Status.CANCELLED == status;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void addRowsWritten(long rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    /**
+     * 开始执行，任务已取消时返回false
+     */
+    synchronized boolean start() {
+        if (Status.WAITING != status) {
+            return false;
+        }
+
+        this.status = Status.RUNNING;
+        return true;
+    }
+
+    /**
+     * 执行完成，任务已取消时返回false，导出的文件由调用方删除
+     */
+    synchronized boolean finish(Path file) {
+        if (Status.RUNNING != status) {
+            return false;
+        }
+
+        this.file = file;
+        this.finishTime = System.currentTimeMillis();
+        this.status = Status.FINISHED;
+        return true;
+    }
+
+    synchronized void fail(String errorMessage) {
+        if (Status.RUNNING != status) {
+            return;
+        }
+
+        this.errorMessage = errorMessage;
+        this.finishTime = System.currentTimeMillis();
+        this.status = Status.FAILED;
+    }
+
+    /**
+     * 取消任务，任务已结束时返回false
+     */
+    synchronized boolean cancel() {
+        if (isDone()) {
+            return false;
+        }
+
+        this.finishTime = System.currentTimeMillis();
+        this.status = Status.CANCELLED;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelExportJob{" +
+                "id='" + id + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", status=" + status +
+                ", rowsWritten=" + rowsWritten +
+                ", estimatedTotal=" + estimatedTotal +
+                '}';
+    }
+}
@@ -0,0 +1,282 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 异步导出任务服务
+ * 提交导出任务后立即返回任务编号，任务在有界线程池中执行并写入临时文件，完成后再下载；
+ * 同时执行的任务数及等待的任务数均有上限，超出时拒绝提交
+ * 最好是通过Configuration将其托管到Spring容器中，在需要使用的地方注入
+ *
+ * @version V1.0
+ **/
+public class ExcelExportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExcelExportJobService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService cleaner;
+    private final Map<String, ExcelExportJob> jobMap = new ConcurrentHashMap<>(16);
+
+    /**
+     * 任务结束后保留的时间（毫秒），超过后删除任务及导出的文件
+     */
+    private final long retentionMillis;
+
+    /**
+     * @param maxRunningJobs 最多同时执行的任务数
+     * @param maxWaitingJobs 最多等待执行的任务数
+     */
+    public ExcelExportJobService(int maxRunningJobs, int maxWaitingJobs) {
+        this(maxRunningJobs, maxWaitingJobs, 60);
+    }
+
+    /**
+     * @param maxRunningJobs     最多同时执行的任务数
+     * @param maxWaitingJobs     最多等待执行的任务数
+     * @param retentionInMinutes 任务结束后保留的时间（分钟）
+     */
+    public ExcelExportJobService(int maxRunningJobs, int maxWaitingJobs, long retentionInMinutes) {
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxRunningJobs, maxRunningJobs, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxWaitingJobs)), runnable -> {
+            Thread thread = new Thread(runnable, "excel-export-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionInMinutes);
+
+        // 没有新任务提交时也要定期删除过期的任务及文件
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-export-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cleaner.scheduleWithFixedDelay(this::clearExpiredJobsQuietly, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 提交导出任务
+     * 根据文件名后缀决定导出格式：.csv/.tsv导出CSV/TSV，.xls导出2003格式，其它以流式方式导出2007格式
+     *
+     * @param fileName       文件名
+     * @param dataSupplier   数据迭代器的提供者，在任务线程中调用；迭代器实现AutoCloseable时在任务结束后关闭
+     * @param columnList     列信息
+     * @param options        导出选项
+     * @param estimatedTotal 预估的总行数，用于计算进度，未知时传0
+     * @param <T>            数据对象类型
+     * @return 任务编号
+     */
+    public <T> String submit(
+            String fileName,
+            Supplier<Iterator<T>> dataSupplier,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options,
+            long estimatedTotal) {
+        clearExpiredJobs();
+
+        ExcelExportJob job = new ExcelExportJob(UUID.randomUUID().toString().replace("-", ""), fileName, estimatedTotal);
+        // 任务放入jobMap前先创建好future，remove时不会取到null
+        FutureTask<Void> future = new FutureTask<>(() -> run(job, dataSupplier, columnList, options), null);
+        job.setFuture(future);
+        jobMap.put(job.getId(), job);
+
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            jobMap.remove(job.getId());
+            logger.warn("导出任务过多，拒绝导出：{}", fileName);
+            throw ExcelException.of(ExcelErrorCodes.EXPORT_REJECTED).details("导出任务过多，请稍后重试");
+        }
+
+        return job.getId();
+    }
+
+    /**
+     * 查询导出任务
+     *
+     * @param jobId 任务编号
+     * @return 导出任务
+     */
+    public Optional<ExcelExportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobMap.get(jobId));
+    }
+
+    /**
+     * 下载已完成的导出任务生成的文件
+     *
+     * @param jobId    任务编号
+     * @param response 返回流
+     */
+    public void writeResultToResponse(String jobId, HttpServletResponse response) {
+        ExcelExportJob job = getJob(jobId).orElseThrow(() ->
+                ExcelException.of(ExcelErrorCodes.EXPORT_JOB_NOT_FOUND).params(jobId).details("导出任务不存在：" + jobId));
+        if (ExcelExportJob.Status.FINISHED != job.getStatus()) {
+            throw ExcelException.of(ExcelErrorCodes.EXPORT_JOB_NOT_FINISHED).params(jobId).details("导出任务未完成：" + job.getStatus());
+        }
+
+        String fileName = job.getFileName();
+        response.setContentType(isCsv(fileName) ? "text/csv;charset=UTF-8" : "application/vnd.ms-excel");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+        try {
+            response.setContentLengthLong(Files.size(job.getFile()));
+            Files.copy(job.getFile(), response.getOutputStream());
+        } catch (IOException e) {
+            logger.error("下载导出文件失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 取消并删除导出任务，已导出的文件同时删除
+     *
+     * @param jobId 任务编号
+     */
+    public void remove(String jobId) {
+        ExcelExportJob job = jobMap.remove(jobId);
+        if (null == job) {
+            return;
+        }
+
+        // 取消成功时由任务线程删除正在写入的文件
+        if (job.cancel()) {
+            job.getFuture().cancel(true);
+        }
+
+        deleteFile(job.getFile());
+    }
+
+    /**
+     * 删除已过保留时间的任务
+     */
+    public void clearExpiredJobs() {
+        long now = System.currentTimeMillis();
+        jobMap.values().stream()
+                .filter(job -> job.isDone() && now - job.getFinishTime() > retentionMillis)
+                .map(ExcelExportJob::getId)
+                .forEach(this::remove);
+    }
+
+    private void clearExpiredJobsQuietly() {
+        try {
+            clearExpiredJobs();
+        } catch (RuntimeException e) {
+            logger.warn("清理过期导出任务失败", e);
+        }
+    }
+
+    /**
+     * 停止服务，取消所有任务并删除导出的文件
+     */
+    public void shutdown() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+        jobMap.keySet().forEach(this::remove);
+    }
+
+    private <T> void run(
+            ExcelExportJob job,
+            Supplier<Iterator<T>> dataSupplier,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        if (!job.start()) {
+            return;
+        }
+
+        String fileName = job.getFileName();
+        Path file = null;
+        Iterator<T> iterator = null;
+
+        try {
+            file = Files.createTempFile("excel-export-", fileName.substring(Math.max(0, fileName.lastIndexOf('.'))));
+            iterator = dataSupplier.get();
+
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+                ExcelExportOptions jobOptions = (null == options ? ExcelExportOptions.of() : options.copy())
+                        .setProgressListener(rows -> {
+                            if (ExcelExportJob.Status.CANCELLED == job.getStatus() || Thread.currentThread().isInterrupted()) {
+                                throw new CancellationException("导出任务已取消");
+                            }
+                            job.addRowsWritten(rows);
+                        });
+                write(fileName, iterator, columnList, jobOptions, outputStream);
+            }
+
+            if (!job.finish(file)) {
+                deleteFile(file);
+            }
+        } catch (CancellationException e) {
+            deleteFile(file);
+        } catch (Exception e) {
+            logger.error("导出任务执行失败：" + job.getId(), e);
+            deleteFile(file);
+            job.fail(e instanceof ExcelException ? ((ExcelException) e).getDetails() : e.getMessage());
+        } finally {
+            if (iterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) iterator).close();
+                } catch (Exception e) {
+                    logger.warn("关闭导出数据迭代器失败", e);
+                }
+            }
+        }
+    }
+
+    private static <T> void write(
+            String fileName,
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options,
+            OutputStream outputStream) throws IOException {
+        if (isCsv(fileName)) {
+            char delimiter = fileName.endsWith(".tsv") ? CsvUtils.TAB : CsvUtils.COMMA;
+            CsvUtils.write(iterator, columnList, CsvUtils.newWriter(outputStream), delimiter, options.getProgressListener());
+            return;
+        }
+
+        Workbook workbook = fileName.endsWith(".xls")
+                ? ExcelUtils.dataToHSSFWorkbook(iterator, columnList, options)
+                : ExcelUtils.dataToSXSSFWorkbook(iterator, columnList, options);
+        try {
+            workbook.write(outputStream);
+        } finally {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+        }
+    }
+
+    private static boolean isCsv(String fileName) {
+        return fileName.endsWith(".csv") || fileName.endsWith(".tsv");
+    }
+
+    private static void deleteFile(Path file) {
+        if (null == file) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("删除导出文件失败：" + file, e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.common.util.excel;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Excel导出选项
+ *
+ * @version V1.0
+ **/
+public class ExcelExportOptions {
+    /**
+     * 流式导出时内存中保留的默认行数
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = 500;
+
+    /**
+     * 估算列宽时每个Sheet页默认的采样行数
+     */
+    public static final int DEFAULT_COLUMN_WIDTH_SAMPLE_SIZE = 100;
+
+    /**
+     * 主标题，不为空时在第一行展示
+     */
+    private String mainTitle;
+
+    /**
+     * 每个Sheet页最多的数据行数，超出时自动创建新的Sheet页并重复标题行
+     * 为0时使用文件格式允许的最大行数
+     */
+    private int rowsPerSheet;
+
+    /**
+     * 流式导出时内存中保留的行数
+     */
+    private int rowAccessWindowSize = DEFAULT_ROW_ACCESS_WINDOW_SIZE;
+
+    /**
+     * 是否并行生成多个Sheet页，仅对流式导出的List数据生效
+     */
+    private boolean parallel;
+
+    /**
+     * 并行生成时的线程数
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 写入进度监听，参数为新写入的数据行数；并行生成时会在多个线程中调用
+     */
+    private LongConsumer progressListener;
+
+    /**
+     * 每个Sheet页用于估算列宽的采样行数，为0时不调整列宽
+     */
+    private int columnWidthSampleSize = DEFAULT_COLUMN_WIDTH_SAMPLE_SIZE;
+
+    /**
+     * 单次导出允许使用的内存（字节），为0时使用ExcelMemoryBudget的默认值
+     */
+    private long memoryBudget;
+
+    /**
+     * 自动选择导出方式时，Excel超出内存限制后是否允许导出成CSV
+     */
+    private boolean csvFallback = true;
+
+    public static ExcelExportOptions of() {
+        return new ExcelExportOptions();
+    }
+
+    public static ExcelExportOptions of(String mainTitle) {
+        return new ExcelExportOptions().setMainTitle(mainTitle);
+    }
+
+    /**
+     * 复制一份导出选项
+     */
+    ExcelExportOptions copy() {
+        return new ExcelExportOptions().setMainTitle(mainTitle)
+                .setRowsPerSheet(rowsPerSheet)
+                .setRowAccessWindowSize(rowAccessWindowSize)
+                .setParallel(parallel)
+                .setParallelism(parallelism)
+                .setProgressListener(progressListener)
+                .setColumnWidthSampleSize(columnWidthSampleSize)
+                .setMemoryBudget(memoryBudget)
+                .setCsvFallback(csvFallback);
+    }
+
+    public String getMainTitle() {
+        return mainTitle;
+    }
+
+    public ExcelExportOptions setMainTitle(String mainTitle) {
+        this.mainTitle = mainTitle;
+        return this;
+    }
+
+    public int getRowsPerSheet() {
+        return rowsPerSheet;
+    }
+
+    public ExcelExportOptions setRowsPerSheet(int rowsPerSheet) {
+        this.rowsPerSheet = rowsPerSheet;
+        return this;
+    }
+
+    public int getRowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+
+    public ExcelExportOptions setRowAccessWindowSize(int rowAccessWindowSize) {
+        this.rowAccessWindowSize = rowAccessWindowSize;
+        return this;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public ExcelExportOptions setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ExcelExportOptions setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public LongConsumer getProgressListener() {
+        return progressListener;
+    }
+
+    public ExcelExportOptions setProgressListener(LongConsumer progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    public int getColumnWidthSampleSize() {
+        return columnWidthSampleSize;
+    }
+
+    public ExcelExportOptions setColumnWidthSampleSize(int columnWidthSampleSize) {
+        this.columnWidthSampleSize = columnWidthSampleSize;
+        return this;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public ExcelExportOptions setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        return this;
+    }
+
+    public boolean isCsvFallback() {
+        return csvFallback;
+    }
+
+    public ExcelExportOptions setCsvFallback(boolean csvFallback) {
+        this.csvFallback = csvFallback;
+        return this;
+    }
+}
@@ -0,0 +1,112 @@
+package com.common.util.excel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 已打开的导入文件，根据文件头判断格式
+ * 关闭时删除临时文件
+ *
+ * @version V1.0
+ **/
+class ExcelFile implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger(ExcelFile.class);
+
+    /**
+     * zip文件头，xlsx
+     */
+    private static final byte[] ZIP_HEADER = {0x50, 0x4B, 0x03, 0x04};
+
+    /**
+     * OLE2复合文档文件头，xls
+     */
+    private static final byte[] OLE2_HEADER = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private final Path path;
+    private final boolean temporary;
+    private final boolean xlsx;
+
+    private ExcelFile(Path path, boolean temporary, boolean xlsx) {
+        this.path = path;
+        this.temporary = temporary;
+        this.xlsx = xlsx;
+    }
+
+    /**
+     * 读取文件头判断格式，不是Excel文件时删除临时文件并抛出FILE_NOT_EXCEL
+     *
+     * @param path      文件
+     * @param temporary 是否是临时文件，临时文件在关闭时删除
+     */
+    static ExcelFile of(Path path, boolean temporary) {
+        byte[] header = new byte[OLE2_HEADER.length];
+        int length;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            length = readFully(inputStream, header);
+        } catch (IOException e) {
+            if (temporary) {
+                ExcelTempFiles.deleteQuietly(path);
+            }
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+
+        if (startsWith(header, length, ZIP_HEADER)) {
+            return new ExcelFile(path, temporary, true);
+        }
+        if (startsWith(header, length, OLE2_HEADER)) {
+            return new ExcelFile(path, temporary, false);
+        }
+
+        if (temporary) {
+            ExcelTempFiles.deleteQuietly(path);
+        }
+        logger.error("文件不是Excel格式，无法处理");
+        throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = inputStream.read(buffer, length, buffer.length - length)) > 0) {
+            length += read;
+        }
+        return length;
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * 是否是xlsx格式，否则为xls格式
+     */
+    boolean isXlsx() {
+        return xlsx;
+    }
+
+    @Override
+    public void close() {
+        if (temporary) {
+            ExcelTempFiles.deleteQuietly(path);
+        }
+    }
+}
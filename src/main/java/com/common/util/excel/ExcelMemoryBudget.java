@@ -0,0 +1,196 @@
+package com.common.util.excel;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导出内存预算
+ * 根据列信息及预估行数估算各导出方式占用的内存，并统计当前JVM中所有导出正在占用的内存；
+ * 估算值只用于选择导出方式及拒绝明显超出内存的导出，不是精确值
+ *
+ * @version V1.0
+ **/
+public class ExcelMemoryBudget {
+    /**
+     * 各导出方式每个单元格及每行的固定开销（字节）
+     */
+    private static final long HSSF_CELL_BYTES = 120;
+    private static final long HSSF_ROW_BYTES = 200;
+    private static final long XSSF_CELL_BYTES = 700;
+    private static final long XSSF_ROW_BYTES = 500;
+    private static final long SXSSF_CELL_BYTES = 150;
+    private static final long SXSSF_ROW_BYTES = 200;
+    private static final long SXSSF_FIXED_BYTES = 2 * 1024 * 1024;
+    private static final long CSV_FIXED_BYTES = 256 * 1024;
+
+    /**
+     * 文本列未指定长度时估算的平均字符数及估算的上限
+     */
+    private static final long DEFAULT_TEXT_LENGTH = 16;
+    private static final long MAX_TEXT_LENGTH = 64;
+
+    private static final AtomicLong USED_BYTES = new AtomicLong();
+
+    private static volatile long defaultBudget = Runtime.getRuntime().maxMemory() / 4;
+    private static volatile long totalLimit = Runtime.getRuntime().maxMemory() / 2;
+
+    private ExcelMemoryBudget() {
+    }
+
+    /**
+     * 单次导出默认允许使用的内存，默认为最大堆内存的1/4
+     */
+    public static long getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public static void setDefaultBudget(long defaultBudget) {
+        ExcelMemoryBudget.defaultBudget = defaultBudget;
+    }
+
+    /**
+     * 所有导出合计允许使用的内存，默认为最大堆内存的1/2
+     */
+    public static long getTotalLimit() {
+        return totalLimit;
+    }
+
+    public static void setTotalLimit(long totalLimit) {
+        ExcelMemoryBudget.totalLimit = totalLimit;
+    }
+
+    /**
+     * 当前JVM中所有导出占用的内存估算值
+     */
+    public static long getUsedBytes() {
+        return USED_BYTES.get();
+    }
+
+    /**
+     * 估算导出占用的内存
+     *
+     * @param engine              导出方式
+     * @param columnList          列信息
+     * @param rowCount            预估行数
+     * @param rowAccessWindowSize 流式导出时内存中保留的行数
+     * @return 估算的内存（字节）
+     */
+    public static <T> long estimate(
+            ExcelExportEngine engine,
+            List<ExcelColumn<T>> columnList,
+            long rowCount,
+            int rowAccessWindowSize) {
+        long valueBytes = 0;
+        for (ExcelColumn<T> column : columnList) {
+            valueBytes += estimateValueBytes(column);
+        }
+
+        int columnCount = columnList.size();
+        switch (engine) {
+            case HSSF:
+                return rowCount * (HSSF_ROW_BYTES + columnCount * HSSF_CELL_BYTES + valueBytes);
+            case XSSF:
+                return rowCount * (XSSF_ROW_BYTES + columnCount * XSSF_CELL_BYTES + valueBytes);
+            case SXSSF:
+                long rows = Math.min(rowCount, Math.max(1, rowAccessWindowSize));
+                return SXSSF_FIXED_BYTES + rows * (SXSSF_ROW_BYTES + columnCount * SXSSF_CELL_BYTES + valueBytes);
+            default:
+                return CSV_FIXED_BYTES;
+        }
+    }
+
+    /**
+     * 根据内存预算选择导出方式并占用对应的内存
+     * 依次尝试内存导出（xls文件使用HSSF，其它使用XSSF）、流式导出及CSV导出，选择第一个在预算范围内的方式
+     *
+     * @param columnList 列信息
+     * @param rowCount   预估行数
+     * @param options    导出选项
+     * @param xls        是否要求导出2003格式
+     * @return 内存占用，使用完成后需要关闭以释放
+     * @throws ExcelException 所有导出方式都超出预算时抛出EXPORT_MEMORY_EXCEEDED
+     */
+    public static <T> Reservation reserve(
+            List<ExcelColumn<T>> columnList,
+            long rowCount,
+            ExcelExportOptions options,
+            boolean xls) {
+        long budget = options.getMemoryBudget() > 0 ? options.getMemoryBudget() : defaultBudget;
+        ExcelExportEngine[] engines = options.isCsvFallback()
+                ? new ExcelExportEngine[]{xls ? ExcelExportEngine.HSSF : ExcelExportEngine.XSSF, ExcelExportEngine.SXSSF, ExcelExportEngine.CSV}
+                : new ExcelExportEngine[]{xls ? ExcelExportEngine.HSSF : ExcelExportEngine.XSSF, ExcelExportEngine.SXSSF};
+
+        long estimated = 0;
+        for (ExcelExportEngine engine : engines) {
+            estimated = estimate(engine, columnList, rowCount, options.getRowAccessWindowSize());
+            if (estimated <= budget && tryAcquire(estimated)) {
+                return new Reservation(engine, estimated);
+            }
+        }
+
+        throw ExcelException.of(ExcelErrorCodes.EXPORT_MEMORY_EXCEEDED)
+                .params(rowCount, estimated, budget)
+                .details("导出数据量过大，预计占用内存" + estimated / 1024 / 1024 + "MB，当前可用"
+                        + Math.max(0, Math.min(budget, totalLimit - USED_BYTES.get())) / 1024 / 1024 + "MB，请缩小导出范围或稍后重试");
+    }
+
+    private static boolean tryAcquire(long bytes) {
+        while (true) {
+            long used = USED_BYTES.get();
+            if (used + bytes > totalLimit) {
+                return false;
+            }
+            if (USED_BYTES.compareAndSet(used, used + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 估算单个值占用的内存
+     */
+    private static <T> long estimateValueBytes(ExcelColumn<T> column) {
+        if (null != column.getType() && ExcelColumnType.TEXT != column.getType()) {
+            return 24;
+        }
+
+        long length = null == column.getMax() ? DEFAULT_TEXT_LENGTH : Math.min(column.getMax() / 4, MAX_TEXT_LENGTH);
+        return 40 + 2 * Math.max(length, 1);
+    }
+
+    /**
+     * 已占用的导出内存
+     */
+    public static class Reservation implements AutoCloseable {
+        private final ExcelExportEngine engine;
+        private final long bytes;
+        private boolean released;
+
+        private Reservation(ExcelExportEngine engine, long bytes) {
+            this.engine = engine;
+            this.bytes = bytes;
+        }
+
+        /**
+         * 选择的导出方式
+         */
+        public ExcelExportEngine getEngine() {
+            return engine;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * 释放占用的内存
+         */
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                USED_BYTES.addAndGet(-bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.common.util.excel;
+
+import java.util.List;
+
+/**
+ * 导入预览结果
+ * 只包含前若干行的数据，总行数根据Sheet页的维度信息估算，不读取全部行
+ *
+ * @version V1.0
+ **/
+public class ExcelPreview<T> {
+    private final List<T> data;
+    private final List<ExcelReadError> errors;
+    private final long rowCount;
+    private final boolean complete;
+
+    ExcelPreview(List<T> data, List<ExcelReadError> errors, long rowCount, boolean complete) {
+        this.data = data;
+        this.errors = errors;
+        this.rowCount = rowCount;
+        this.complete = complete;
+    }
+
+    /**
+     * 预览行中校验通过的数据，按原来的行顺序
+     */
+    public List<T> getData() {
+        return data;
+    }
+
+    /**
+     * 预览行中的校验错误
+     */
+    public List<ExcelReadError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * 数据总行数（不包括标题行）
+     * 已读取全部行时为实际行数；否则根据Sheet页的维度信息估算，中间的空行也计算在内；
+     * 文件中没有维度信息或者维度信息明显不正确时为-1
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 是否已读取全部行，为true时预览数据即为全部数据
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,94 @@
+package com.common.util.excel;
+
+/**
+ * 导入时单元格的校验错误
+ *
+ * @version V1.0
+ **/
+public class ExcelReadError {
+    /**
+     * 行号，从0开始，与Row.getRowNum一致
+     */
+    private final int rowNum;
+
+    /**
+     * 文件中的列序号，从0开始；按标题对应列时文件中没有该列为-1
+     */
+    private final int columnIndex;
+
+    /**
+     * 列标题
+     */
+    private final String title;
+
+    /**
+     * 错误码，见ExcelErrorCodes
+     */
+    private final String code;
+
+    /**
+     * 错误描述
+     */
+    private final String message;
+
+    ExcelReadError(int rowNum, int columnIndex, String title, String code, String message) {
+        this.rowNum = rowNum;
+        this.columnIndex = columnIndex;
+        this.title = title;
+        this.code = code;
+        this.message = message;
+    }
+
+    /**
+     * 根据转换单元格时抛出的异常生成错误信息
+     */
+    static ExcelReadError of(int rowNum, int columnIndex, ExcelColumn<?> column, ExcelException e) {
+        String message = null != e.getDetails() ? e.getDetails() : e.getMessage();
+        if (null == message) {
+            switch (e.getCode()) {
+                case ExcelErrorCodes.NUMBER_TOO_LARGE:
+                    message = "第" + rowNum + "行" + column.getTitle() + "不能大于" + column.getMax();
+                    break;
+                case ExcelErrorCodes.NUMBER_TOO_SMALL:
+                    message = "第" + rowNum + "行" + column.getTitle() + "不能小于" + column.getMin();
+                    break;
+                default:
+                    message = "第" + rowNum + "行" + column.getTitle() + "格式错误";
+                    break;
+            }
+        }
+
+        return new ExcelReadError(rowNum, columnIndex, column.getTitle(), e.getCode(), message);
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelReadError{" +
+                "rowNum=" + rowNum +
+                ", columnIndex=" + columnIndex +
+                ", title='" + title + '\'' +
+                ", code='" + code + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
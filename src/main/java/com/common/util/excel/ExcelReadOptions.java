@@ -0,0 +1,171 @@
+package com.common.util.excel;
+
+/**
+ * Excel导入选项
+ *
+ * @version V1.0
+ **/
+public class ExcelReadOptions {
+    /**
+     * 默认每批的数据条数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * 异步处理时默认最多等待处理的批数
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 2;
+
+    /**
+     * 并行转换时默认最多等待输出的行数
+     */
+    public static final int DEFAULT_CONVERSION_QUEUE_SIZE = 1024;
+
+    /**
+     * 收集所有错误时默认最多保留的错误数
+     */
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    /**
+     * 读取多个Sheet页时默认最多同时解析的Sheet页数
+     */
+    public static final int DEFAULT_SHEET_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * 每批的数据条数
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * 是否在单独的线程中处理每批数据，处理的同时继续解析后续的行
+     */
+    private boolean asyncConsumer;
+
+    /**
+     * 异步处理时最多等待处理的批数，队列满时解析等待
+     */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * 同时将行转换成实体对象的线程数，大于1时解析线程只读取单元格，转换及校验在线程池中并行执行，结果保持原来的行顺序
+     * 转换在所有导入共享的线程池（线程数为CPU核数）中执行，并发导入时线程总数不会增加
+     * 并行时列的dataHandler会在多个线程中同时调用
+     */
+    private int parallelism = 1;
+
+    /**
+     * 并行转换时最多等待输出的行数，达到该数量时解析等待
+     */
+    private int conversionQueueSize = DEFAULT_CONVERSION_QUEUE_SIZE;
+
+    /**
+     * 收集所有错误时最多保留的错误数，超出后只计数
+     */
+    private int maxErrors = DEFAULT_MAX_ERRORS;
+
+    /**
+     * 收集所有错误时是否生成标注了错误的Excel副本
+     */
+    private boolean annotateErrors;
+
+    /**
+     * 是否按标题对应列，为false时按列的顺序对应
+     * 按标题对应时读取标题行建立标题到列序号的索引，标题比较时忽略大小写及空白，也可以匹配列的aliases；
+     * 文件中多余的列不解析，找不到标题的非空列抛出TITLE_NOT_FOUND
+     */
+    private boolean headerMapping;
+
+    /**
+     * 读取多个Sheet页时最多同时解析的Sheet页数，只对xlsx有效，xls文件只能按顺序读取
+     */
+    private int sheetParallelism = DEFAULT_SHEET_PARALLELISM;
+
+    public static ExcelReadOptions of() {
+        return new ExcelReadOptions();
+    }
+
+    public static ExcelReadOptions of(int batchSize) {
+        return new ExcelReadOptions().setBatchSize(batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public ExcelReadOptions setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public boolean isAsyncConsumer() {
+        return asyncConsumer;
+    }
+
+    public ExcelReadOptions setAsyncConsumer(boolean asyncConsumer) {
+        this.asyncConsumer = asyncConsumer;
+        return this;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public ExcelReadOptions setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ExcelReadOptions setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public int getConversionQueueSize() {
+        return conversionQueueSize;
+    }
+
+    public ExcelReadOptions setConversionQueueSize(int conversionQueueSize) {
+        this.conversionQueueSize = conversionQueueSize;
+        return this;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public ExcelReadOptions setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+        return this;
+    }
+
+    public boolean isAnnotateErrors() {
+        return annotateErrors;
+    }
+
+    public ExcelReadOptions setAnnotateErrors(boolean annotateErrors) {
+        this.annotateErrors = annotateErrors;
+        return this;
+    }
+
+    public boolean isHeaderMapping() {
+        return headerMapping;
+    }
+
+    public ExcelReadOptions setHeaderMapping(boolean headerMapping) {
+        this.headerMapping = headerMapping;
+        return this;
+    }
+
+    public int getSheetParallelism() {
+        return sheetParallelism;
+    }
+
+    public ExcelReadOptions setSheetParallelism(int sheetParallelism) {
+        this.sheetParallelism = sheetParallelism;
+        return this;
+    }
+}
@@ -0,0 +1,66 @@
+package com.common.util.excel;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.util.List;
+
+/**
+ * 收集所有错误方式导入的结果
+ * 包含校验通过的数据及校验错误，有错误的行不会出现在数据中
+ *
+ * @version V1.0
+ **/
+public class ExcelReadResult<T> {
+    private final List<T> data;
+    private final List<ExcelReadError> errors;
+    private final long errorCount;
+    private final SXSSFWorkbook annotatedWorkbook;
+
+    ExcelReadResult(List<T> data, List<ExcelReadError> errors, long errorCount, SXSSFWorkbook annotatedWorkbook) {
+        this.data = data;
+        this.errors = errors;
+        this.errorCount = errorCount;
+        this.annotatedWorkbook = annotatedWorkbook;
+    }
+
+    /**
+     * 校验通过的数据，按原来的行顺序
+     */
+    public List<T> getData() {
+        return data;
+    }
+
+    /**
+     * 校验错误，最多保留ExcelReadOptions.maxErrors条
+     */
+    public List<ExcelReadError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * 错误总数，包括超出上限未保留的错误
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    /**
+     * 错误是否超出上限而未全部保留
+     */
+    public boolean isTruncated() {
+        return errorCount > errors.size();
+    }
+
+    /**
+     * 标注了错误的Excel副本，错误单元格以底色标出，最后一列为该行的错误信息
+     * 只有开启ExcelReadOptions.annotateErrors时生成；使用完成后需调用dispose清理临时文件，
+     * 通过ExcelUtils.writeExcelToResponse导出时会自动清理
+     */
+    public SXSSFWorkbook getAnnotatedWorkbook() {
+        return annotatedWorkbook;
+    }
+}
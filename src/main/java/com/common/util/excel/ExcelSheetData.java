@@ -0,0 +1,38 @@
+package com.common.util.excel;
+
+import java.util.List;
+
+/**
+ * 读取多个Sheet页时单个Sheet页的数据
+ *
+ * @version V1.0
+ **/
+public class ExcelSheetData<T> {
+    private final int sheetIndex;
+    private final String sheetName;
+    private final List<T> data;
+
+    ExcelSheetData(int sheetIndex, String sheetName, List<T> data) {
+        this.sheetIndex = sheetIndex;
+        this.sheetName = sheetName;
+        this.data = data;
+    }
+
+    /**
+     * Sheet页序号，从0开始
+     */
+    public int getSheetIndex() {
+        return sheetIndex;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    /**
+     * 该Sheet页的数据，按原来的行顺序
+     */
+    public List<T> getData() {
+        return data;
+    }
+}
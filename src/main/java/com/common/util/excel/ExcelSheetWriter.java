@@ -0,0 +1,154 @@
+package com.common.util.excel;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * 将数据写入Sheet页
+ * Sheet页需要顺序创建，创建后不同的Sheet页可以在不同的线程中同时写入数据行
+ *
+ * @version V1.0
+ **/
+class ExcelSheetWriter<T> {
+    /**
+     * 每写入多少行通知一次进度
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private final Workbook workbook;
+    private final ExcelStyleRegistry styleRegistry;
+    private final List<ExcelColumn<T>> columnList;
+    private final String mainTitle;
+    private final LongConsumer progressListener;
+    private final int columnWidthSampleSize;
+    private final int columnCount;
+
+    ExcelSheetWriter(Workbook workbook, List<ExcelColumn<T>> columnList, ExcelExportOptions options) {
+        this.workbook = workbook;
+        this.styleRegistry = ExcelStyleRegistry.of(workbook);
+        this.columnList = columnList;
+        this.mainTitle = options.getMainTitle();
+        this.progressListener = options.getProgressListener();
+        this.columnWidthSampleSize = options.getColumnWidthSampleSize();
+        this.columnCount = columnList.size();
+    }
+
+    /**
+     * 标题所占的行数
+     */
+    int getTitleRowCount() {
+        return StringUtils.isNotBlank(mainTitle) ? 2 : 1;
+    }
+
+    /**
+     * 每个Sheet页最多可以写入的数据行数
+     *
+     * @param rowsPerSheet 配置的行数，为0时使用文件格式允许的最大行数
+     */
+    int getRowsPerSheet(int rowsPerSheet) {
+        SpreadsheetVersion version = workbook instanceof HSSFWorkbook ? SpreadsheetVersion.EXCEL97 : SpreadsheetVersion.EXCEL2007;
+        int maxRows = version.getMaxRows() - getTitleRowCount();
+        return rowsPerSheet > 0 ? Math.min(rowsPerSheet, maxRows) : maxRows;
+    }
+
+    /**
+     * 创建Sheet页并写入标题行
+     *
+     * @param sheetName Sheet页名称
+     * @return 创建的Sheet页
+     */
+    Sheet createSheet(String sheetName) {
+        Sheet sheet = workbook.createSheet(sheetName);
+
+        // 如果传入的mainTitle不为空，那么需要展示一个主标题
+        int startRow = 0;
+        if (StringUtils.isNotBlank(mainTitle)) {
+            Row mainTitleRow = sheet.createRow(0);
+
+            Cell cell = mainTitleRow.createCell(0);
+            cell.setCellValue(mainTitle);
+
+            CellStyle mainTitleCellStyle = styleRegistry.getStyle(ExcelStyle.mainTitle());
+            cell.setCellStyle(mainTitleCellStyle);
+
+            for (int i = 1; i < columnCount; i++) {
+                mainTitleRow.createCell(i).setCellStyle(mainTitleCellStyle);
+            }
+
+            // 合并单元格
+            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, columnCount - 1));
+
+            startRow = 1;
+        }
+
+        // 创建标题行
+        Row titleRow = sheet.createRow(startRow);
+        CellStyle titleCellStyle = styleRegistry.getStyle(ExcelStyle.title());
+        for (int col = 0; col < columnCount; col++) {
+            Cell cell = titleRow.createCell(col);
+            cell.setCellStyle(titleCellStyle);
+            cell.setCellValue(columnList.get(col).getTitle());
+        }
+
+        return sheet;
+    }
+
+    /**
+     * 从迭代器中读取数据写入到Sheet页的标题行之后，并根据前若干行的数据设置列宽
+     *
+     * @param sheet    通过createSheet创建的Sheet页
+     * @param iterator 数据迭代器
+     * @param maxRows  最多写入的行数
+     * @return 实际写入的行数
+     */
+    int writeRows(Sheet sheet, Iterator<T> iterator, int maxRows) {
+        ExcelCellWriter cellWriter = new ExcelCellWriter(styleRegistry, columnList);
+        int startRow = getTitleRowCount();
+
+        ColumnValueReader<T> valueReader = new ColumnValueReader<>(columnList);
+        ColumnWidthSampler<T> widthSampler = new ColumnWidthSampler<>(columnList, columnWidthSampleSize);
+
+        int rowIndex = 0;
+        for (; rowIndex < maxRows && iterator.hasNext(); rowIndex++) {
+            Row row = sheet.createRow(rowIndex + startRow);
+            valueReader.setRow(iterator.next());
+            boolean sampling = widthSampler.isSampling();
+
+            for (int col = 0; col < columnCount; col++) {
+                Cell cell = row.createCell(col);
+                Object obj = valueReader.getValue(col);
+                if (null == obj) {
+                    cellWriter.writeEmpty(cell, col);
+                } else {
+                    cellWriter.write(cell, col, obj);
+                    if (sampling) {
+                        widthSampler.sample(col, obj);
+                    }
+                }
+            }
+
+            if (sampling) {
+                widthSampler.endRow();
+            }
+
+            if (null != progressListener && (rowIndex + 1) % PROGRESS_INTERVAL == 0) {
+                progressListener.accept(PROGRESS_INTERVAL);
+            }
+        }
+
+        if (null != progressListener && rowIndex % PROGRESS_INTERVAL != 0) {
+            progressListener.accept(rowIndex % PROGRESS_INTERVAL);
+        }
+
+        widthSampler.apply(sheet);
+
+        return rowIndex;
+    }
+}
@@ -0,0 +1,68 @@
+package com.common.util.excel;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 导入的Excel文件来源
+ * 读取时以文件方式打开：已经是文件的直接使用，上传的文件转存到临时文件，输入流写入临时文件；
+ * 文件格式根据文件头判断，与文件名无关
+ *
+ * @version V1.0
+ **/
+public class ExcelSource {
+    private final Path file;
+    private final MultipartFile multipartFile;
+    private final InputStream inputStream;
+
+    private ExcelSource(Path file, MultipartFile multipartFile, InputStream inputStream) {
+        this.file = file;
+        this.multipartFile = multipartFile;
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * 本地文件，直接读取，读取后不删除
+     */
+    public static ExcelSource of(File file) {
+        return new ExcelSource(file.toPath(), null, null);
+    }
+
+    /**
+     * 本地文件，直接读取，读取后不删除
+     */
+    public static ExcelSource of(Path file) {
+        return new ExcelSource(file, null, null);
+    }
+
+    /**
+     * 上传的文件，读取时通过transferTo转存到临时文件，已经缓存在磁盘上的上传文件只需移动不需复制；
+     * 转存后上传的文件不能再次读取
+     */
+    public static ExcelSource of(MultipartFile multipartFile) {
+        return new ExcelSource(null, multipartFile, null);
+    }
+
+    /**
+     * 输入流，读取时先写入临时文件，不会关闭输入流
+     */
+    public static ExcelSource of(InputStream inputStream) {
+        return new ExcelSource(null, null, inputStream);
+    }
+
+    /**
+     * 打开文件并判断格式，使用完成后需关闭以删除临时文件
+     */
+    ExcelFile open() {
+        if (null != file) {
+            return ExcelFile.of(file, false);
+        }
+        if (null != multipartFile) {
+            return ExcelFile.of(ExcelTempFiles.transfer(multipartFile), true);
+        }
+        return ExcelFile.of(ExcelTempFiles.spool(inputStream, ".tmp"), true);
+    }
+}
@@ -0,0 +1,169 @@
+package com.common.util.excel;
+
+import org.apache.poi.hssf.util.HSSFColor;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+import java.util.Objects;
+
+/**
+ * Excel单元格样式描述
+ * 只描述样式的属性，实际的CellStyle由ExcelStyleRegistry根据属性创建并在同一个Workbook中复用
+ *
+ * @version V1.0
+ **/
+public class ExcelStyle {
+    private boolean border;
+    private short alignment = CellStyle.ALIGN_GENERAL;
+    private boolean bold;
+
+    /**
+     * 字体颜色索引，为空时使用默认颜色
+     */
+    private Short fontColor;
+
+    /**
+     * 背景颜色索引，为空时不填充背景
+     */
+    private Short fillColor;
+
+    /**
+     * 数据格式，如"@"、"#,##0.00"、"yyyy-MM-dd"，为空时使用常规格式
+     */
+    private String dataFormat;
+
+    public static ExcelStyle of() {
+        return new ExcelStyle();
+    }
+
+    /**
+     * 标题行样式
+     */
+    public static ExcelStyle title() {
+        return new ExcelStyle().setBorder(true)
+                .setAlignment(CellStyle.ALIGN_CENTER)
+                .setFontColor(HSSFColor.WHITE.index)
+                .setFillColor(HSSFColor.GREY_50_PERCENT.index);
+    }
+
+    /**
+     * 主标题行样式
+     */
+    public static ExcelStyle mainTitle() {
+        return new ExcelStyle().setBorder(true).setAlignment(CellStyle.ALIGN_CENTER).setBold(true);
+    }
+
+    /**
+     * 内容样式
+     */
+    public static ExcelStyle content() {
+        return new ExcelStyle().setBorder(true);
+    }
+
+    public boolean isBorder() {
+        return border;
+    }
+
+    public ExcelStyle setBorder(boolean border) {
+        this.border = border;
+        return this;
+    }
+
+    public short getAlignment() {
+        return alignment;
+    }
+
+    public ExcelStyle setAlignment(short alignment) {
+        this.alignment = alignment;
+        return this;
+    }
+
+    public boolean isBold() {
+        return bold;
+    }
+
+    public ExcelStyle setBold(boolean bold) {
+        this.bold = bold;
+        return this;
+    }
+
+    public Short getFontColor() {
+        return fontColor;
+    }
+
+    public ExcelStyle setFontColor(Short fontColor) {
+        this.fontColor = fontColor;
+        return this;
+    }
+
+    public Short getFillColor() {
+        return fillColor;
+    }
+
+    public ExcelStyle setFillColor(Short fillColor) {
+        this.fillColor = fillColor;
+        return this;
+    }
+
+    public String getDataFormat() {
+        return dataFormat;
+    }
+
+    public ExcelStyle setDataFormat(String dataFormat) {
+        this.dataFormat = dataFormat;
+        return this;
+    }
+
+    /**
+     * 复制一份样式描述，用于作为缓存的Key，避免调用方后续修改影响缓存
+     */
+    ExcelStyle copy() {
+        return new ExcelStyle().setBorder(border)
+                .setAlignment(alignment)
+                .setBold(bold)
+                .setFontColor(fontColor)
+                .setFillColor(fillColor)
+                .setDataFormat(dataFormat);
+    }
+
+    /**
+     * 是否需要单独的字体
+     */
+    boolean hasFont() {
+        return bold || null != fontColor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExcelStyle)) {
+            return false;
+        }
+
+        ExcelStyle that = (ExcelStyle) o;
+        return border == that.border
+                && alignment == that.alignment
+                && bold == that.bold
+                && Objects.equals(fontColor, that.fontColor)
+                && Objects.equals(fillColor, that.fillColor)
+                && Objects.equals(dataFormat, that.dataFormat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(border, alignment, bold, fontColor, fillColor, dataFormat);
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelStyle{" +
+                "border=" + border +
+                ", alignment=" + alignment +
+                ", bold=" + bold +
+                ", fontColor=" + fontColor +
+                ", fillColor=" + fillColor +
+                ", dataFormat='" + dataFormat + '\'' +
+                '}';
+    }
+}
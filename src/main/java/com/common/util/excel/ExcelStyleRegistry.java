@@ -0,0 +1,120 @@
+package com.common.util.excel;
+
+import org.apache.poi.hssf.usermodel.HSSFFont;
+import org.apache.poi.hssf.util.HSSFColor;
+import org.apache.poi.ss.usermodel.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 单个Workbook范围内的单元格样式注册表
+ * 相同属性的样式只创建一次，避免每个单元格都创建新的CellStyle导致xls超出样式数量限制或xlsx的styles.xml过大
+ *
+ * @version V1.0
+ **/
+public class ExcelStyleRegistry {
+    private final Workbook workbook;
+    private final Map<ExcelStyle, CellStyle> styleMap = new HashMap<>(16);
+    private final Map<String, Font> fontMap = new HashMap<>(4);
+    private final Map<String, Short> formatMap = new HashMap<>(8);
+    private DataFormat dataFormat;
+
+    private ExcelStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    public static ExcelStyleRegistry of(Workbook workbook) {
+        return new ExcelStyleRegistry(workbook);
+    }
+
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    /**
+     * 获取与样式描述对应的单元格样式，不存在时创建
+     *
+     * @param style 样式描述
+     * @return 单元格样式
+     */
+    public synchronized CellStyle getStyle(ExcelStyle style) {
+        CellStyle cellStyle = styleMap.get(style);
+        if (null == cellStyle) {
+            cellStyle = createStyle(style);
+            styleMap.put(style.copy(), cellStyle);
+        }
+
+        return cellStyle;
+    }
+
+    /**
+     * 获取数据格式的索引，不存在时创建
+     *
+     * @param format 数据格式，如"#,##0.00"
+     * @return 格式索引
+     */
+    public synchronized short getFormat(String format) {
+        return formatMap.computeIfAbsent(format, f -> {
+            if (null == dataFormat) {
+                dataFormat = workbook.createDataFormat();
+            }
+
+            return dataFormat.getFormat(f);
+        });
+    }
+
+    private CellStyle createStyle(ExcelStyle style) {
+        CellStyle cellStyle = workbook.createCellStyle();
+        if (style.isBorder()) {
+            setBorder(cellStyle);
+        }
+
+        cellStyle.setAlignment(style.getAlignment());
+
+        if (null != style.getFillColor()) {
+            cellStyle.setFillForegroundColor(style.getFillColor());
+            cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
+        }
+
+        if (style.hasFont()) {
+            cellStyle.setFont(getFont(style.isBold(), style.getFontColor()));
+        }
+
+        if (null != style.getDataFormat()) {
+            cellStyle.setDataFormat(getFormat(style.getDataFormat()));
+        }
+
+        return cellStyle;
+    }
+
+    private Font getFont(boolean bold, Short color) {
+        return fontMap.computeIfAbsent(bold + ":" + color, key -> {
+            Font font = workbook.createFont();
+            if (bold) {
+                font.setBoldweight(HSSFFont.BOLDWEIGHT_BOLD);
+            }
+            if (null != color) {
+                font.setColor(color);
+            }
+
+            return font;
+        });
+    }
+
+    /**
+     * 设置边框
+     *
+     * @param cellStyle 单元格样式
+     */
+    private static void setBorder(CellStyle cellStyle) {
+        cellStyle.setBorderBottom(BorderFormatting.BORDER_THIN);
+        cellStyle.setBorderTop(BorderFormatting.BORDER_THIN);
+        cellStyle.setBorderLeft(BorderFormatting.BORDER_THIN);
+        cellStyle.setBorderRight(BorderFormatting.BORDER_THIN);
+        cellStyle.setLeftBorderColor(HSSFColor.GREY_50_PERCENT.index);
+        cellStyle.setRightBorderColor(HSSFColor.GREY_50_PERCENT.index);
+        cellStyle.setTopBorderColor(HSSFColor.GREY_50_PERCENT.index);
+        cellStyle.setBottomBorderColor(HSSFColor.GREY_50_PERCENT.index);
+    }
+}
@@ -0,0 +1,83 @@
+package com.common.util.excel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 导入时使用的临时文件
+ * 上传内容先写入临时文件，再以文件方式打开，避免POI将整个文件读入内存
+ *
+ * @version V1.0
+ **/
+class ExcelTempFiles {
+    private final static Logger logger = LoggerFactory.getLogger(ExcelTempFiles.class);
+
+    private ExcelTempFiles() {
+    }
+
+    /**
+     * 将输入流写入临时文件
+     *
+     * @param inputStream 输入流，不会关闭
+     * @param suffix      临时文件后缀
+     * @return 临时文件
+     * @throws ExcelException 写入失败时抛出IO_ERROR
+     */
+    static Path spool(InputStream inputStream, String suffix) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("excel-import", suffix);
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return tempFile;
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 将上传的文件转存到临时文件
+     * 上传文件已经缓存在磁盘上时由容器直接移动，不需要复制内容
+     *
+     * @param multipartFile 上传的文件，转存后不能再次读取
+     * @return 临时文件
+     * @throws ExcelException 转存失败时抛出IO_ERROR
+     */
+    static Path transfer(MultipartFile multipartFile) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("excel-import", ".tmp");
+            // 目标文件已存在时部分容器无法直接移动上传文件
+            Files.delete(tempFile);
+            multipartFile.transferTo(tempFile.toFile());
+            return tempFile;
+        } catch (IOException | IllegalStateException e) {
+            deleteQuietly(tempFile);
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 删除临时文件，失败时只记录日志
+     */
+    static void deleteQuietly(Path file) {
+        if (null == file) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("删除临时文件失败：{}", file, e);
+        }
+    }
+}
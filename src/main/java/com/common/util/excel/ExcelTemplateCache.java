@@ -0,0 +1,139 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 导入模板缓存
+ * 按模板名称缓存序列化后的模板内容，同时记录生成模板时列定义的指纹；
+ * 列定义（标题、类型、最大最小值、下拉序列）变化后指纹不一致，旧的模板将被替换
+ *
+ * @version V1.0
+ **/
+class ExcelTemplateCache {
+    private static final Logger logger = LoggerFactory.getLogger(ExcelTemplateCache.class);
+
+    /**
+     * 最多缓存的模板数量，超出时淘汰最久未使用的模板
+     */
+    private static final int MAX_SIZE = 64;
+
+    private static final Map<String, Template> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, Template>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            });
+
+    private ExcelTemplateCache() {
+    }
+
+    /**
+     * 获取模板内容，不存在或者列定义已变化时重新生成
+     *
+     * @param name       模板名称
+     * @param columnList 列信息
+     * @param supplier   模板生成者
+     * @return 序列化后的模板内容，每次返回新的副本，调用方修改不会影响缓存
+     */
+    static <T> byte[] get(String name, List<ExcelColumn<T>> columnList, Supplier<Workbook> supplier) {
+        String fingerprint = fingerprint(columnList);
+        Template template = CACHE.get(name);
+        if (null != template && template.fingerprint.equals(fingerprint)) {
+            return template.content.clone();
+        }
+
+        byte[] content = toBytes(supplier.get());
+        CACHE.put(name, new Template(fingerprint, content));
+        return content.clone();
+    }
+
+    /**
+     * 清空缓存
+     */
+    static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * 计算列定义中影响模板内容的属性的指纹
+     * 每个值前加上长度，值中包含分隔符时也不会与其它的列定义混淆
+     */
+    private static <T> String fingerprint(List<ExcelColumn<T>> columnList) {
+        StringBuilder builder = new StringBuilder(columnList.size() * 32);
+        for (ExcelColumn<T> column : columnList) {
+            appendValue(builder, column.getTitle());
+            appendValue(builder, column.getType());
+            appendValue(builder, column.getMax());
+            appendValue(builder, column.getMin());
+
+            List<String> selectedValues = column.getSelectedValues();
+            if (null == selectedValues) {
+                builder.append('N');
+            } else {
+                builder.append(selectedValues.size()).append('[');
+                selectedValues.forEach(value -> appendValue(builder, value));
+            }
+            builder.append(';');
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return builder.toString();
+        }
+    }
+
+    private static void appendValue(StringBuilder builder, Object value) {
+        if (null == value) {
+            builder.append('N');
+            return;
+        }
+
+        String text = value.toString();
+        builder.append(text.length()).append(':').append(text);
+    }
+
+    private static byte[] toBytes(Workbook workbook) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(16 * 1024);
+        try {
+            workbook.write(outputStream);
+        } catch (IOException e) {
+            logger.error("生成模板失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("生成模板失败");
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static class Template {
+        private final String fingerprint;
+        private final byte[] content;
+
+        Template(String fingerprint, byte[] content) {
+            this.fingerprint = fingerprint;
+            this.content = content;
+        }
+    }
+}
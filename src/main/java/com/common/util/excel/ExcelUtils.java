@@ -1,13 +1,14 @@
 package com.common.util.excel;
 
-import com.common.util.ReflectionUtils;
-import org.apache.commons.collections.CollectionUtils;
+import com.common.web.util.PageData;
+import com.common.web.util.PageIterator;
+import com.common.web.util.PageQuery;
+import com.common.web.util.PrefetchPageIterator;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.*;
-import org.apache.poi.hssf.util.HSSFColor;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,16 +16,21 @@ import org.slf4j.LoggerFactory;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Excel辅助类
@@ -55,6 +61,54 @@ public class ExcelUtils {
         return (HSSFWorkbook) Utils.createWorkbook(new HSSFWorkbook(), columnList);
     }
 
+    /**
+     * 获取根据列信息生成的导入模板内容（xlsx格式）
+     * 模板按名称缓存，列信息未变化时直接返回缓存的内容
+     *
+     * @param templateName 模板名称
+     * @param columnList   列信息清单
+     * @return 序列化后的模板内容
+     */
+    public static <T> byte[] getXSSFTemplate(String templateName, List<ExcelColumn<T>> columnList) {
+        return ExcelTemplateCache.get(templateName + ".xlsx", columnList, () -> createXSSFEmptyWorkbook(columnList));
+    }
+
+    /**
+     * 获取根据列信息生成的导入模板内容（xls格式）
+     * 模板按名称缓存，列信息未变化时直接返回缓存的内容
+     *
+     * @param templateName 模板名称
+     * @param columnList   列信息清单
+     * @return 序列化后的模板内容
+     */
+    public static <T> byte[] getHSSFTemplate(String templateName, List<ExcelColumn<T>> columnList) {
+        return ExcelTemplateCache.get(templateName + ".xls", columnList, () -> createHSSFEmptyWorkbook(columnList));
+    }
+
+    /**
+     * 下载导入模板，模板按文件名缓存，根据文件名后缀决定生成xlsx或者xls格式
+     *
+     * @param columnList 列信息清单
+     * @param response   返回流
+     * @param fileName   文件名
+     */
+    public static <T> void writeTemplateToResponse(
+            List<ExcelColumn<T>> columnList,
+            HttpServletResponse response,
+            String fileName) {
+        byte[] content = fileName.endsWith(".xls")
+                ? getHSSFTemplate(fileName, columnList)
+                : getXSSFTemplate(fileName, columnList);
+        writeExcelToResponse(content, response, fileName);
+    }
+
+    /**
+     * 清空导入模板缓存
+     */
+    public static void clearTemplateCache() {
+        ExcelTemplateCache.clear();
+    }
+
     /**
      * 根据数据集生成2003格式的Excel数据表格
      *
@@ -66,130 +120,997 @@ public class ExcelUtils {
     public static <T> Workbook dataToHSSFWorkbook(
             List<T> dataList,
             List<ExcelColumn<T>> columnList) {
-        return Utils.dataToWorkbook(new HSSFWorkbook(), dataList, columnList, null);
+        return Utils.dataToWorkbook(new HSSFWorkbook(), Utils.iterator(dataList), columnList, ExcelExportOptions.of());
+    }
+
+    /**
+     * 根据数据集生成2003格式的Excel数据表格
+     * 第一行显示一个主标题
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToHSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return Utils.dataToWorkbook(new HSSFWorkbook(), Utils.iterator(dataList), columnList, ExcelExportOptions.of(mainTitle));
+    }
+
+    /**
+     * 根据数据集生成2007格式的Excel数据表格
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList) {
+        return Utils.dataToWorkbook(new XSSFWorkbook(), Utils.iterator(dataList), columnList, ExcelExportOptions.of());
+    }
+
+    /**
+     * 根据数据集生成2007格式的Excel数据表格
+     * 第一行显示一个主标题
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return Utils.dataToWorkbook(new XSSFWorkbook(), Utils.iterator(dataList), columnList, ExcelExportOptions.of(mainTitle));
+    }
+
+    /**
+     * 根据数据集以流式方式生成2007格式的Excel数据表格
+     * 内存中只保留最近的若干行，其余行刷新到临时文件中，适用于大数据量导出
+     * 使用完成后需调用dispose清理临时文件，通过writeExcelToResponse导出时会自动清理
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList) {
+        return dataToSXSSFWorkbook(dataList, columnList, ExcelExportOptions.of());
+    }
+
+    /**
+     * 根据数据集以流式方式生成2007格式的Excel数据表格
+     * 第一行显示一个主标题
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToSXSSFWorkbook(dataList, columnList, ExcelExportOptions.of(mainTitle));
+    }
+
+    /**
+     * 根据数据集以流式方式生成2007格式的Excel数据表格
+     *
+     * @param dataList            数据集
+     * @param columnList          需要生成的Excel列信息
+     * @param mainTitle           主标题，为空时不展示
+     * @param rowAccessWindowSize 内存中保留的行数，超出的行将刷新到临时文件中
+     * @param <T>                 数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle,
+            int rowAccessWindowSize) {
+        return dataToSXSSFWorkbook(dataList, columnList,
+                ExcelExportOptions.of(mainTitle).setRowAccessWindowSize(rowAccessWindowSize));
+    }
+
+    /**
+     * 根据数据集及导出选项生成2003格式的Excel数据表格
+     * 数据超出单个Sheet页的行数限制时自动创建新的Sheet页
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToHSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        return Utils.dataToWorkbook(new HSSFWorkbook(), Utils.iterator(dataList), columnList, options);
+    }
+
+    /**
+     * 根据数据集及导出选项生成2007格式的Excel数据表格
+     * 数据超出单个Sheet页的行数限制时自动创建新的Sheet页
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        return Utils.dataToWorkbook(new XSSFWorkbook(), Utils.iterator(dataList), columnList, options);
+    }
+
+    /**
+     * 根据数据集及导出选项以流式方式生成2007格式的Excel数据表格
+     * 数据超出单个Sheet页的行数限制时自动创建新的Sheet页；
+     * 开启并行时按Sheet页拆分数据，在ForkJoin线程池中同时生成各个Sheet页
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        SXSSFWorkbook workbook = Utils.createSXSSFWorkbook(options.getRowAccessWindowSize());
+        try {
+            if (options.isParallel() && null != dataList) {
+                Utils.dataToWorkbookInParallel(workbook, dataList, columnList, options);
+            } else {
+                Utils.dataToWorkbook(workbook, Utils.iterator(dataList), columnList, options);
+            }
+        } catch (RuntimeException e) {
+            workbook.dispose();
+            throw e;
+        }
+
+        return workbook;
+    }
+
+    /**
+     * 根据迭代器及导出选项逐行生成2003格式的Excel数据表格
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToHSSFWorkbook(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        return Utils.dataToWorkbook(new HSSFWorkbook(), iterator, columnList, options);
+    }
+
+    /**
+     * 根据迭代器及导出选项逐行生成2007格式的Excel数据表格
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToXSSFWorkbook(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        return Utils.dataToWorkbook(new XSSFWorkbook(), iterator, columnList, options);
+    }
+
+    /**
+     * 根据迭代器及导出选项以流式方式生成2007格式的Excel数据表格
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options) {
+        SXSSFWorkbook workbook = Utils.createSXSSFWorkbook(options.getRowAccessWindowSize());
+        try {
+            Utils.dataToWorkbook(workbook, iterator, columnList, options);
+        } catch (RuntimeException e) {
+            workbook.dispose();
+            throw e;
+        }
+
+        return workbook;
+    }
+
+    /**
+     * 根据迭代器逐行生成2003格式的Excel数据表格，数据在写入时才从迭代器中读取
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题，为空时不展示
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToHSSFWorkbook(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return Utils.dataToWorkbook(new HSSFWorkbook(), iterator, columnList, ExcelExportOptions.of(mainTitle));
+    }
+
+    /**
+     * 根据迭代器逐行生成2007格式的Excel数据表格，数据在写入时才从迭代器中读取
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题，为空时不展示
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToXSSFWorkbook(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return Utils.dataToWorkbook(new XSSFWorkbook(), iterator, columnList, ExcelExportOptions.of(mainTitle));
+    }
+
+    /**
+     * 根据迭代器以流式方式生成2007格式的Excel数据表格
+     * 数据在写入时才从迭代器中读取，配合分页或游标查询时导出内存与总数据量无关
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题，为空时不展示
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToSXSSFWorkbook(iterator, columnList, ExcelExportOptions.of(mainTitle));
+    }
+
+    /**
+     * 根据Stream逐行生成2003格式的Excel数据表格
+     * Stream由调用方负责关闭
+     *
+     * @param stream     数据流
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题，为空时不展示
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToHSSFWorkbook(
+            Stream<T> stream,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToHSSFWorkbook(stream.iterator(), columnList, mainTitle);
+    }
+
+    /**
+     * 根据Stream逐行生成2007格式的Excel数据表格
+     * Stream由调用方负责关闭
+     *
+     * @param stream     数据流
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题，为空时不展示
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> Workbook dataToXSSFWorkbook(
+            Stream<T> stream,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToXSSFWorkbook(stream.iterator(), columnList, mainTitle);
+    }
+
+    /**
+     * 根据Stream以流式方式生成2007格式的Excel数据表格
+     * Stream由调用方负责关闭
+     *
+     * @param stream     数据流
+     * @param columnList 需要生成的Excel列信息
+     * @param mainTitle  主标题，为空时不展示
+     * @param <T>        数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <T> SXSSFWorkbook dataToSXSSFWorkbook(
+            Stream<T> stream,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToSXSSFWorkbook(stream.iterator(), columnList, mainTitle);
+    }
+
+    /**
+     * 逐页查询数据并生成2003格式的Excel数据表格
+     *
+     * @param pageFetcher 分页查询函数
+     * @param pageQuery   起始分页查询条件，决定起始页及每页数量
+     * @param columnList  需要生成的Excel列信息
+     * @param mainTitle   主标题，为空时不展示
+     * @param <Q>         查询条件类型
+     * @param <T>         数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <Q, T> Workbook dataToHSSFWorkbook(
+            Function<PageQuery<Q>, PageData<T>> pageFetcher,
+            PageQuery<Q> pageQuery,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToHSSFWorkbook(PageIterator.of(pageFetcher, pageQuery), columnList, mainTitle);
+    }
+
+    /**
+     * 逐页查询数据并生成2007格式的Excel数据表格
+     *
+     * @param pageFetcher 分页查询函数
+     * @param pageQuery   起始分页查询条件，决定起始页及每页数量
+     * @param columnList  需要生成的Excel列信息
+     * @param mainTitle   主标题，为空时不展示
+     * @param <Q>         查询条件类型
+     * @param <T>         数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <Q, T> Workbook dataToXSSFWorkbook(
+            Function<PageQuery<Q>, PageData<T>> pageFetcher,
+            PageQuery<Q> pageQuery,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToXSSFWorkbook(PageIterator.of(pageFetcher, pageQuery), columnList, mainTitle);
+    }
+
+    /**
+     * 逐页查询数据并以流式方式生成2007格式的Excel数据表格
+     * 内存中只保留当前页的数据及最近写入的若干行
+     *
+     * @param pageFetcher 分页查询函数
+     * @param pageQuery   起始分页查询条件，决定起始页及每页数量
+     * @param columnList  需要生成的Excel列信息
+     * @param mainTitle   主标题，为空时不展示
+     * @param <Q>         查询条件类型
+     * @param <T>         数据集对象类型
+     * @return 生成的Excel表格
+     */
+    public static <Q, T> SXSSFWorkbook dataToSXSSFWorkbook(
+            Function<PageQuery<Q>, PageData<T>> pageFetcher,
+            PageQuery<Q> pageQuery,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle) {
+        return dataToSXSSFWorkbook(PageIterator.of(pageFetcher, pageQuery), columnList, mainTitle);
+    }
+
+    /**
+     * 导出Excel到输出流中
+     *
+     * @param supplier Excel文件生成者
+     * @param response 返回流
+     */
+    public static void writeExcelToResponse(
+            Supplier<Workbook> supplier,
+            HttpServletResponse response,
+            String fileName) {
+        Workbook workbook = supplier.get();
+
+        response.setContentType("application/vnd.ms-excel");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+        try {
+            workbook.write(response.getOutputStream());
+        } catch (IOException e) {
+            logger.error("下载模板失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        } finally {
+            Utils.dispose(workbook);
+        }
+    }
+
+    /**
+     * 将已经序列化的Excel内容导出到输出流中
+     *
+     * @param content  Excel文件内容
+     * @param response 返回流
+     * @param fileName 文件名
+     */
+    public static void writeExcelToResponse(
+            byte[] content,
+            HttpServletResponse response,
+            String fileName) {
+        response.setContentType("application/vnd.ms-excel");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+        response.setContentLength(content.length);
+
+        try {
+            response.getOutputStream().write(content);
+        } catch (IOException e) {
+            logger.error("下载模板失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 逐页查询数据并以流式方式导出2007格式的Excel到输出流中
+     * 后台线程预取后续的页，写入当前页的同时查询下一页；预取页数达到prefetchDepth时查询等待写入
+     * 生成失败或请求线程被中断时停止后台查询；文件生成完成后才写入响应，客户端断开不会停止查询
+     *
+     * @param pageFetcher   分页查询函数，将在后台线程中调用
+     * @param pageQuery     起始分页查询条件，决定起始页及每页数量
+     * @param prefetchDepth 最多预取的页数
+     * @param columnList    需要生成的Excel列信息
+     * @param mainTitle     主标题，为空时不展示
+     * @param response      返回流
+     * @param fileName      文件名
+     * @param <Q>           查询条件类型
+     * @param <T>           数据集对象类型
+     */
+    public static <Q, T> void writeExcelToResponse(
+            Function<PageQuery<Q>, PageData<T>> pageFetcher,
+            PageQuery<Q> pageQuery,
+            int prefetchDepth,
+            List<ExcelColumn<T>> columnList,
+            String mainTitle,
+            HttpServletResponse response,
+            String fileName) {
+        try (PrefetchPageIterator<T> iterator = PageIterator.prefetch(pageFetcher, pageQuery, prefetchDepth)) {
+            writeExcelToResponse(() -> dataToSXSSFWorkbook(iterator, columnList, mainTitle), response, fileName);
+        }
+    }
+
+    /**
+     * 将多个文件打包成zip导出到输出流中
+     * 按顺序逐个生成文件并直接写入zip流，写完一个文件后再生成下一个
+     *
+     * @param entries          zip中的文件名及对应的文件，如ExcelZipEntry.workbook(...)、ExcelZipEntry.csv(...)
+     * @param compressionLevel 压缩级别，0-9，-1为默认级别
+     * @param response         返回流
+     * @param fileName         zip文件名
+     */
+    public static void writeZipToResponse(
+            Map<String, ExcelZipEntry> entries,
+            int compressionLevel,
+            HttpServletResponse response,
+            String fileName) {
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+        try {
+            ZipOutputStream zipOutputStream = new ZipOutputStream(response.getOutputStream(), StandardCharsets.UTF_8);
+            zipOutputStream.setLevel(compressionLevel);
+
+            OutputStream entryOutputStream = new NonClosingOutputStream(zipOutputStream);
+            for (Map.Entry<String, ExcelZipEntry> entry : entries.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                entry.getValue().write(entryOutputStream);
+                zipOutputStream.closeEntry();
+            }
+
+            zipOutputStream.finish();
+            zipOutputStream.flush();
+        } catch (IOException e) {
+            logger.error("下载压缩文件失败", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    /**
+     * 将多个文件以默认压缩级别打包成zip导出到输出流中
+     *
+     * @param entries  zip中的文件名及对应的文件
+     * @param response 返回流
+     * @param fileName zip文件名
+     */
+    public static void writeZipToResponse(
+            Map<String, ExcelZipEntry> entries,
+            HttpServletResponse response,
+            String fileName) {
+        writeZipToResponse(entries, Deflater.DEFAULT_COMPRESSION, response, fileName);
+    }
+
+    /**
+     * 根据内存预算自动选择导出方式并导出到输出流中
+     * 依次尝试内存导出（文件名以.xls结尾时为2003格式，否则为2007格式）、流式导出及CSV导出，
+     * 文件名后缀替换为实际导出方式对应的后缀；所有方式都超出预算时抛出EXPORT_MEMORY_EXCEEDED
+     *
+     * @param iterator     数据迭代器
+     * @param columnList   需要生成的Excel列信息
+     * @param rowCountHint 预估行数
+     * @param options      导出选项
+     * @param response     返回流
+     * @param fileName     文件名
+     * @param <T>          数据集对象类型
+     * @return 实际使用的导出方式
+     */
+    public static <T> ExcelExportEngine exportToResponse(
+            Iterator<T> iterator,
+            List<ExcelColumn<T>> columnList,
+            long rowCountHint,
+            ExcelExportOptions options,
+            HttpServletResponse response,
+            String fileName) {
+        try (ExcelMemoryBudget.Reservation reservation = ExcelMemoryBudget.reserve(
+                columnList, rowCountHint, options, fileName.endsWith(".xls"))) {
+            ExcelExportEngine engine = reservation.getEngine();
+            String actualFileName = engine.toFileName(fileName);
+            switch (engine) {
+                case HSSF:
+                    writeExcelToResponse(() -> dataToHSSFWorkbook(iterator, columnList, options), response, actualFileName);
+                    break;
+                case XSSF:
+                    writeExcelToResponse(() -> dataToXSSFWorkbook(iterator, columnList, options), response, actualFileName);
+                    break;
+                case SXSSF:
+                    writeExcelToResponse(() -> dataToSXSSFWorkbook(iterator, columnList, options), response, actualFileName);
+                    break;
+                default:
+                    CsvUtils.writeCsvToResponse(iterator, columnList, CsvUtils.COMMA, response, actualFileName);
+            }
+
+            return engine;
+        }
+    }
+
+    /**
+     * 根据内存预算自动选择导出方式并导出到输出流中，以数据集大小作为预估行数
+     *
+     * @param dataList   数据集
+     * @param columnList 需要生成的Excel列信息
+     * @param options    导出选项
+     * @param response   返回流
+     * @param fileName   文件名
+     * @param <T>        数据集对象类型
+     * @return 实际使用的导出方式
+     */
+    public static <T> ExcelExportEngine exportToResponse(
+            List<T> dataList,
+            List<ExcelColumn<T>> columnList,
+            ExcelExportOptions options,
+            HttpServletResponse response,
+            String fileName) {
+        return exportToResponse(Utils.iterator(dataList), columnList,
+                null == dataList ? 0 : dataList.size(), options, response, fileName);
+    }
+
+    /**
+     * 从上传的文件中读取内容
+     * 以流式方式逐行读取，不在内存中创建整个Workbook
+     *
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容，先写入临时文件再读取
+     * @param columns     表格列信息
+     * @param clazz       读取的数据对象类型
+     * @param <T>         读取的数据对象类型
+     * @return 读取的数据
+     */
+    public static <T> List<T> read(
+            String fileName,
+            InputStream inputStream,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz) {
+        return read(ExcelSource.of(inputStream), columns, clazz);
+    }
+
+    /**
+     * 从文件中读取内容
+     * 以文件方式打开并流式逐行读取，格式根据文件头判断
+     *
+     * @param source  文件来源，可以是本地文件、上传的文件或输入流
+     * @param columns 表格列信息
+     * @param clazz   读取的数据对象类型
+     * @param <T>     读取的数据对象类型
+     * @return 读取的数据
+     */
+    public static <T> List<T> read(
+            ExcelSource source,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz) {
+        List<T> dataList = new ArrayList<>(16);
+        RowBinder<T> binder = RowBinder.of(clazz, columns);
+        Utils.readExcelRows(source, new ColumnSelection(), Utils.skipTitle(row -> dataList.add(binder.bind(row))));
+
+        return dataList;
+    }
+
+    /**
+     * 从Sheet中读取数据
+     *
+     * @param sheet   Excel表格
+     * @param columns 表格列信息
+     * @param clazz   读取的对象类型
+     * @param <T>     读取的对象类型
+     * @return 从Sheet中读取的数据
+     */
+    public static <T> List<T> read(
+            Sheet sheet,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz) {
+        List<T> dataList = new ArrayList<>(16);
+        RowBinder<T> binder = RowBinder.of(clazz, columns);
+        Iterator<Row> iterator = sheet.rowIterator();
+
+        // 跳过标题行
+        iterator.next();
+
+        while (iterator.hasNext()) {
+            dataList.add(binder.bind(iterator.next()));
+        }
+
+        return dataList;
+    }
+
+    /**
+     * 从上传的文件中分批读取内容，每读取batchSize条数据调用一次consumer
+     * 解析与处理交替进行，内存中最多保留一批数据
+     *
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容
+     * @param columns     表格列信息
+     * @param clazz       读取的数据对象类型
+     * @param batchSize   每批的数据条数
+     * @param consumer    每批数据的处理函数，如批量写入数据库
+     * @param <T>         读取的数据对象类型
+     * @return 读取的数据总条数
+     */
+    public static <T> long read(
+            String fileName,
+            InputStream inputStream,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            int batchSize,
+            Consumer<List<T>> consumer) {
+        return read(fileName, inputStream, columns, clazz, ExcelReadOptions.of(batchSize), consumer);
+    }
+
+    /**
+     * 从上传的文件中分批读取内容
+     * 开启异步处理时consumer在所有导入共享的线程池中执行，处理当前批次的同时继续解析；
+     * 等待处理的批次达到queueCapacity时解析等待，consumer抛出的异常在当前线程中重新抛出
+     * 注意：抛出异常（解析失败、校验失败或consumer失败）时，之前已经交给consumer的批次可能已经处理（如已写入数据库），
+     * 需要整体回滚时请在consumer外层使用事务或自行记录已处理的批次；异步处理时会等正在处理的批次完成后再抛出，
+     * 尚未处理的批次被丢弃
+     *
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容
+     * @param columns     表格列信息
+     * @param clazz       读取的数据对象类型
+     * @param options     导入选项
+     * @param consumer    每批数据的处理函数
+     * @param <T>         读取的数据对象类型
+     * @return 读取的数据总条数
+     */
+    public static <T> long read(
+            String fileName,
+            InputStream inputStream,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options,
+            Consumer<List<T>> consumer) {
+        return read(ExcelSource.of(inputStream), columns, clazz, options, consumer);
+    }
+
+    /**
+     * 从文件中分批读取内容
+     *
+     * @param source   文件来源，可以是本地文件、上传的文件或输入流
+     * @param columns  表格列信息
+     * @param clazz    读取的数据对象类型
+     * @param options  导入选项
+     * @param consumer 每批数据的处理函数
+     * @param <T>      读取的数据对象类型
+     * @return 读取的数据总条数
+     */
+    public static <T> long read(
+            ExcelSource source,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options,
+            Consumer<List<T>> consumer) {
+        return Utils.readInBatches((selection, rowConsumer) -> Utils.readExcelRows(source, selection, rowConsumer),
+                columns, clazz, options, consumer);
+    }
+
+    /**
+     * 从Sheet中分批读取数据，每读取batchSize条数据调用一次consumer
+     *
+     * @param sheet     Excel表格
+     * @param columns   表格列信息
+     * @param clazz     读取的对象类型
+     * @param batchSize 每批的数据条数
+     * @param consumer  每批数据的处理函数
+     * @param <T>       读取的对象类型
+     * @return 读取的数据总条数
+     */
+    public static <T> long read(
+            Sheet sheet,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            int batchSize,
+            Consumer<List<T>> consumer) {
+        return read(sheet, columns, clazz, ExcelReadOptions.of(batchSize), consumer);
     }
 
     /**
-     * 根据数据集生成2003格式的Excel数据表格
-     * 第一行显示一个主标题
+     * 从Sheet中分批读取数据
      *
-     * @param dataList   数据集
-     * @param columnList 需要生成的Excel列信息
-     * @param <T>        数据集对象类型
-     * @return 生成的Excel表格
+     * @param sheet    Excel表格
+     * @param columns  表格列信息
+     * @param clazz    读取的对象类型
+     * @param options  导入选项
+     * @param consumer 每批数据的处理函数
+     * @param <T>      读取的对象类型
+     * @return 读取的数据总条数
      */
-    public static <T> Workbook dataToHSSFWorkbook(
-            List<T> dataList,
-            List<ExcelColumn<T>> columnList,
-            String mainTitle) {
-        return Utils.dataToWorkbook(new HSSFWorkbook(), dataList, columnList, mainTitle);
+    public static <T> long read(
+            Sheet sheet,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options,
+            Consumer<List<T>> consumer) {
+        return Utils.readInBatches((selection, rowConsumer) -> sheet.rowIterator().forEachRemaining(rowConsumer),
+                columns, clazz, options, consumer);
     }
 
     /**
-     * 根据数据集生成2007格式的Excel数据表格
+     * 从上传的文件中读取内容，收集所有校验错误而不是在第一个错误时抛出异常
+     * 有错误的行不会出现在结果数据中；文件格式错误等非单元格错误仍然直接抛出异常
      *
-     * @param dataList   数据集
-     * @param columnList 需要生成的Excel列信息
-     * @param <T>        数据集对象类型
-     * @return 生成的Excel表格
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容
+     * @param columns     表格列信息
+     * @param clazz       读取的数据对象类型
+     * @param options     导入选项，maxErrors决定最多保留的错误数，annotateErrors决定是否生成标注了错误的Excel副本
+     * @param <T>         读取的数据对象类型
+     * @return 校验通过的数据及校验错误
      */
-    public static <T> Workbook dataToXSSFWorkbook(
-            List<T> dataList,
-            List<ExcelColumn<T>> columnList) {
-        return Utils.dataToWorkbook(new XSSFWorkbook(), dataList, columnList, null);
+    public static <T> ExcelReadResult<T> readWithErrors(
+            String fileName,
+            InputStream inputStream,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        return readWithErrors(ExcelSource.of(inputStream), columns, clazz, options);
     }
 
     /**
-     * 根据数据集生成2007格式的Excel数据表格
-     * 第一行显示一个主标题
+     * 从文件中读取内容，收集所有校验错误而不是在第一个错误时抛出异常
      *
-     * @param dataList   数据集
-     * @param columnList 需要生成的Excel列信息
-     * @param <T>        数据集对象类型
-     * @return 生成的Excel表格
+     * @param source  文件来源，可以是本地文件、上传的文件或输入流
+     * @param columns 表格列信息
+     * @param clazz   读取的数据对象类型
+     * @param options 导入选项
+     * @param <T>     读取的数据对象类型
+     * @return 校验通过的数据及校验错误
      */
-    public static <T> Workbook dataToXSSFWorkbook(
-            List<T> dataList,
-            List<ExcelColumn<T>> columnList,
-            String mainTitle) {
-        return Utils.dataToWorkbook(new XSSFWorkbook(), dataList, columnList, mainTitle);
+    public static <T> ExcelReadResult<T> readWithErrors(
+            ExcelSource source,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        return Utils.readWithErrors((selection, rowConsumer) -> Utils.readExcelRows(source, selection, rowConsumer),
+                columns, clazz, options);
     }
 
     /**
-     * 导出Excel到输出流中
+     * 从Sheet中读取数据，收集所有校验错误而不是在第一个错误时抛出异常
      *
-     * @param supplier Excel文件生成者
-     * @param response 返回流
+     * @param sheet   Excel表格
+     * @param columns 表格列信息
+     * @param clazz   读取的对象类型
+     * @param options 导入选项
+     * @param <T>     读取的对象类型
+     * @return 校验通过的数据及校验错误
      */
-    public static void writeExcelToResponse(
-            Supplier<Workbook> supplier,
-            HttpServletResponse response,
-            String fileName) {
-        Workbook workbook = supplier.get();
+    public static <T> ExcelReadResult<T> readWithErrors(
+            Sheet sheet,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        return Utils.readWithErrors((selection, rowConsumer) -> sheet.rowIterator().forEachRemaining(rowConsumer),
+                columns, clazz, options);
+    }
 
-        response.setContentType("application/vnd.ms-excel");
-        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+    /**
+     * 从上传的文件中读取所有Sheet页，每个Sheet页使用相同的列信息
+     * 跳过每个Sheet页的标题行；xlsx文件的各Sheet页并发解析
+     *
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容
+     * @param columns     表格列信息
+     * @param clazz       读取的数据对象类型
+     * @param options     导入选项，sheetParallelism决定最多同时解析的Sheet页数
+     * @param <T>         读取的数据对象类型
+     * @return 各Sheet页的数据，按Sheet页顺序
+     */
+    public static <T> List<ExcelSheetData<T>> readAllSheets(
+            String fileName,
+            InputStream inputStream,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        return readSheets(fileName, inputStream, (index, name) -> columns, clazz, options);
+    }
 
-        try {
-            workbook.write(response.getOutputStream());
-        } catch (IOException e) {
-            logger.error("下载模板失败", e);
-            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+    /**
+     * 从上传的文件中按名称读取指定的Sheet页，每个Sheet页使用各自的列信息
+     *
+     * @param fileName           文件名，格式根据文件头判断
+     * @param inputStream        文件内容
+     * @param columnsBySheetName Sheet页名称及其表格列信息
+     * @param clazz              读取的数据对象类型
+     * @param options            导入选项
+     * @param <T>                读取的数据对象类型
+     * @return 各Sheet页的数据，按Sheet页顺序
+     * @throws ExcelException 指定的Sheet页不存在时抛出SHEET_NOT_FOUND
+     */
+    public static <T> List<ExcelSheetData<T>> readSheets(
+            String fileName,
+            InputStream inputStream,
+            Map<String, List<ExcelColumn<T>>> columnsBySheetName,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        List<ExcelSheetData<T>> result = readSheets(fileName, inputStream,
+                (index, name) -> columnsBySheetName.get(name), clazz, options);
+        if (result.size() < columnsBySheetName.size()) {
+            Set<String> missing = new LinkedHashSet<>(columnsBySheetName.keySet());
+            result.forEach(sheetData -> missing.remove(sheetData.getSheetName()));
+            logger.error("Excel中不存在Sheet页{}", missing);
+            throw ExcelException.of(ExcelErrorCodes.SHEET_NOT_FOUND).params(missing)
+                    .details("Excel中不存在Sheet页" + missing);
         }
+        return result;
     }
 
     /**
-     * 从上传的文件中读取内容
+     * 从上传的文件中读取多个Sheet页，每个Sheet页使用各自的列信息
+     * 跳过每个Sheet页的标题行；xlsx文件的各Sheet页在线程池中并发解析，同一Sheet页内的行按顺序转换，
+     * 并发时columns返回的列的dataHandler会在多个线程中同时调用；xls文件一次遍历按顺序读取所有Sheet页
      *
-     * @param uploadFile 上传的文件
-     * @param clazz      读取的数据对象类型
-     * @param <T>        读取的数据对象类型
-     * @return 读取的数据
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容
+     * @param columns     根据Sheet页序号（从0开始）及名称返回表格列信息，返回null时跳过该Sheet页
+     * @param clazz       读取的数据对象类型
+     * @param options     导入选项，sheetParallelism决定最多同时解析的Sheet页数
+     * @param <T>         读取的数据对象类型
+     * @return 读取的各Sheet页的数据，按Sheet页顺序
      */
-    public static <T> List<T> read(
+    public static <T> List<ExcelSheetData<T>> readSheets(
             String fileName,
             InputStream inputStream,
-            List<ExcelColumn<T>> columns,
-            Class<T> clazz) {
-        List<T> dataList = new ArrayList<>(16);
-        Utils.readExcelFileContent(fileName, inputStream, sheet -> {
-            Iterator<Row> iterator = sheet.rowIterator();
+            BiFunction<Integer, String, List<ExcelColumn<T>>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        return readSheets(ExcelSource.of(inputStream), columns, clazz, options);
+    }
+
+    /**
+     * 从文件中读取多个Sheet页，每个Sheet页使用各自的列信息
+     *
+     * @param source  文件来源，可以是本地文件、上传的文件或输入流
+     * @param columns 根据Sheet页序号（从0开始）及名称返回表格列信息，返回null时跳过该Sheet页
+     * @param clazz   读取的数据对象类型
+     * @param options 导入选项
+     * @param <T>     读取的数据对象类型
+     * @return 读取的各Sheet页的数据，按Sheet页顺序
+     */
+    public static <T> List<ExcelSheetData<T>> readSheets(
+            ExcelSource source,
+            BiFunction<Integer, String, List<ExcelColumn<T>>> columns,
+            Class<T> clazz,
+            ExcelReadOptions options) {
+        List<ExcelSheetData<T>> result = new ArrayList<>();
+        BiFunction<Integer, String, SheetTarget> targets = (index, name) -> {
+            List<ExcelColumn<T>> sheetColumns = columns.apply(index, name);
+            if (null == sheetColumns) {
+                return null;
+            }
 
-            // 跳过标题行
-            iterator.next();
+            List<T> data = new ArrayList<>();
+            result.add(new ExcelSheetData<>(index, name, data));
+            return Utils.sheetTarget(sheetColumns, clazz, options, data::add);
+        };
 
-            while (iterator.hasNext()) {
-                dataList.add(Utils.rowToEntity(iterator.next(), clazz, columns));
+        try (ExcelFile file = source.open()) {
+            if (file.isXlsx()) {
+                try (XlsxStreamingReader reader = XlsxStreamingReader.open(file.getPath())) {
+                    reader.readSheets(targets, options.getSheetParallelism());
+                }
+            } else {
+                try (XlsStreamingReader reader = XlsStreamingReader.open(file.getPath())) {
+                    reader.readSheets(targets);
+                }
             }
-        });
+        }
+        return result;
+    }
 
-        return dataList;
+    /**
+     * 预览上传的文件，只读取标题行之后的前maxRows行，总行数根据Sheet页的维度信息估算
+     *
+     * @param fileName    文件名，格式根据文件头判断
+     * @param inputStream 文件内容
+     * @param columns     表格列信息
+     * @param clazz       读取的数据对象类型
+     * @param maxRows     最多读取的数据行数
+     * @param <T>         读取的数据对象类型
+     * @return 预览结果
+     */
+    public static <T> ExcelPreview<T> preview(
+            String fileName,
+            InputStream inputStream,
+            List<ExcelColumn<T>> columns,
+            Class<T> clazz,
+            int maxRows) {
+        return preview(ExcelSource.of(inputStream), columns, clazz, maxRows, ExcelReadOptions.of());
     }
 
     /**
-     * 从Sheet中读取数据
+     * 预览文件第一个Sheet页，读取到第maxRows + 1行数据时停止解析
+     * 总行数取自xlsx的dimension元素或xls的DIMENSIONS记录，不遍历数据行；
+     * 预览行中的校验错误收集在结果中，不抛出异常
      *
-     * @param sheet   Excel表格
+     * @param source  文件来源，可以是本地文件、上传的文件或输入流
      * @param columns 表格列信息
-     * @param clazz   读取的对象类型
-     * @param <T>     读取的对象类型
-     * @return 从Sheet中读取的数据
+     * @param clazz   读取的数据对象类型
+     * @param maxRows 最多读取的数据行数
+     * @param options 导入选项，只使用headerMapping
+     * @param <T>     读取的数据对象类型
+     * @return 预览结果
      */
-    public static <T> List<T> read(
-            Sheet sheet,
+    public static <T> ExcelPreview<T> preview(
+            ExcelSource source,
             List<ExcelColumn<T>> columns,
-            Class<T> clazz) {
-        List<T> dataList = new ArrayList<>(16);
-        Iterator<Row> iterator = sheet.rowIterator();
+            Class<T> clazz,
+            int maxRows,
+            ExcelReadOptions options) {
+        RowBinder<T> binder = RowBinder.of(clazz, columns);
+        ColumnSelection selection = new ColumnSelection();
+        List<T> data = new ArrayList<>(Math.max(0, maxRows));
+        List<ExcelReadError> errors = new ArrayList<>(0);
+        int[] rowsRead = new int[1];
+        int[] dimension = {-1};
+        boolean[] stopped = new boolean[1];
+
+        Consumer<Row> consumer = Utils.splitTitle(Utils.mapTitle(binder, options, selection, true), row -> {
+            if (rowsRead[0] >= maxRows) {
+                stopped[0] = true;
+                throw ReadStoppedException.INSTANCE;
+            }
 
-        // 跳过标题行
-        iterator.next();
+            rowsRead[0]++;
+            List<ExcelReadError> rowErrors = new ArrayList<>(0);
+            T t = binder.bind(row, rowErrors);
+            if (null != t) {
+                data.add(t);
+            }
+            errors.addAll(rowErrors);
+        });
+        Utils.readExcelSheet(source, new SheetTarget(selection, consumer, rows -> dimension[0] = rows));
 
-        while (iterator.hasNext()) {
-            dataList.add(Utils.rowToEntity(iterator.next(), clazz, columns));
+        if (!stopped[0]) {
+            return new ExcelPreview<>(data, errors, rowsRead[0], true);
         }
 
-        return dataList;
+        // 维度中的行数包括标题行；不大于已读取的行数时说明维度信息不正确（如部分工具只写入A1）
+        long rowCount = dimension[0] - 1L > rowsRead[0] ? dimension[0] - 1L : -1;
+        return new ExcelPreview<>(data, errors, rowCount, false);
     }
 
     /**
@@ -271,8 +1192,6 @@ public class ExcelUtils {
 
     private static class Utils {
         private static final int ROW_LIMIT = 10000;
-        private static DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        private static DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
         /**
          * 获取需要添加限制的区域
@@ -284,6 +1203,33 @@ public class ExcelUtils {
             return new CellRangeAddressList(1, ROW_LIMIT, col, col);
         }
 
+        /**
+         * 创建流式写入的Workbook，刷新到磁盘的临时文件使用压缩存储
+         *
+         * @param rowAccessWindowSize 内存中保留的行数
+         * @return 创建的Workbook
+         */
+        private static SXSSFWorkbook createSXSSFWorkbook(int rowAccessWindowSize) {
+            SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindowSize);
+            workbook.setCompressTempFiles(true);
+            return workbook;
+        }
+
+        private static <T> Iterator<T> iterator(List<T> dataList) {
+            return null == dataList ? Collections.emptyIterator() : dataList.iterator();
+        }
+
+        /**
+         * 清理流式Workbook产生的临时文件
+         *
+         * @param workbook 表格
+         */
+        private static void dispose(Workbook workbook) {
+            if (workbook instanceof SXSSFWorkbook && !((SXSSFWorkbook) workbook).dispose()) {
+                logger.warn("清理Excel临时文件失败");
+            }
+        }
+
         /**
          * 构造HSSF类型的数据校验规则
          *
@@ -314,197 +1260,6 @@ public class ExcelUtils {
             return helper.createValidation(constraintFunction.apply(helper), getRegions(col));
         }
 
-        private static <T> void setLocalDateValue(
-                Row row,
-                T t,
-                String title,
-                Cell cell,
-                String property) {
-            Date date;
-
-            try {
-                date = cell.getDateCellValue();
-            } catch (Exception ex) {
-                logger.error("读取日期字段异常", ex);
-                throw ExcelException.of(ExcelErrorCodes.READ_DATE_ERROR, "读取日期字段异常，行：" + row.getRowNum() + ", 列：" + title);
-            }
-
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(date);
-            LocalDate localDate = LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
-                    calendar.get(Calendar.DAY_OF_MONTH));
-            try {
-                ReflectionUtils.setField(t, property, localDate);
-            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-                logger.error("设置对象属性失败", e);
-                throw ExcelException.of(ExcelErrorCodes.SET_OBJECT_FIELD_VALUE_ERROR)
-                        .params(property)
-                        .details("设置对象属性失败,属性：" + property);
-            }
-        }
-
-        private static <T> void setDateValue(
-                Row row,
-                T t,
-                String title,
-                Cell cell,
-                String property) {
-            // 日期
-            Date date;
-
-            try {
-                date = cell.getDateCellValue();
-            } catch (Exception ex) {
-                logger.error("读取日期字段异常", ex);
-                throw ExcelException.of(ExcelErrorCodes.READ_DATE_ERROR)
-                        .params(row.getRowNum(), title)
-                        .details("读取日期字段异常，行：" + row.getRowNum() + ", 列：" + title);
-            }
-
-            try {
-                ReflectionUtils.setField(t, property, date);
-            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-                logger.error("设置对象属性失败", e);
-                throw ExcelException.of(ExcelErrorCodes.SET_OBJECT_FIELD_VALUE_ERROR)
-                        .params(property)
-                        .details("设置对象属性失败,属性：" + property);
-            }
-        }
-
-        private static <T> void setStringValue(
-                Row row,
-                T t,
-                int rowNum,
-                ExcelColumn<T> column,
-                String title,
-                Cell cell,
-                String property,
-                Field field) {
-            // 字符串
-//            Length length = field.getAnnotation(Length.class);
-//            String valueStr = cell.getStringCellValue();
-//
-//            if ("".equals(valueStr.trim())) {
-//                if (column.isNullable()) {
-//                    return;
-//                }
-//
-//                logger.error("第{}行{}值不能为空", rowNum, title);
-//
-//                throw ExcelException.of(ExcelErrorCodes.VALUE_NULL).params(rowNum, title).details("第" + rowNum + "行" + title + "不能为空");
-//            }
-//
-//            if (null != length) {
-//                int maxLength = length.max();
-//                if (valueStr.length() > maxLength) {
-//                    logger.error("属性{}长度不能超过{}", property, maxLength);
-//                    throw ExcelException.of(ExcelErrorCodes.VALUE_TOO_LONG).params(rowNum, title, maxLength)
-//                            .details("第" + rowNum + "行" + title + "长度不能超过" + maxLength);
-//                }
-//            }
-
-            String valueStr = cell.getStringCellValue();
-
-            try {
-                ReflectionUtils.setField(t, property, valueStr);
-            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-                logger.error("设置对象属性失败", e);
-                throw ExcelException.of(ExcelErrorCodes.SET_OBJECT_FIELD_VALUE_ERROR)
-                        .params(property)
-                        .details("设置对象属性失败,属性：" + property);
-            }
-        }
-
-        private static <T> void setNumberValue(
-                Row row,
-                T t,
-                ExcelColumn<T> column,
-                Cell cell,
-                Class fieldClass) {
-            Object obj;
-
-            double numericValue;
-
-            try {
-                numericValue = cell.getNumericCellValue();
-            } catch (Exception ex) {
-                logger.error("读取数值异常", ex);
-                throw ExcelException.of(ExcelErrorCodes.READ_NUMBER_ERROR).params(String.valueOf(row.getRowNum()), column.getTitle())
-                        .details("读取数值异常，行：" + row.getRowNum() + ", 字段：" + column.getTitle());
-            }
-
-            if (null != column.getMax() && column.getMax() < numericValue) {
-                throw ExcelException.of(ExcelErrorCodes.NUMBER_TOO_LARGE).params(
-                        String.valueOf(row.getRowNum()), column.getTitle(),
-                        column.getMax());
-            }
-
-            if (null != column.getMin() && column.getMin() > numericValue) {
-                throw ExcelException.of(ExcelErrorCodes.NUMBER_TOO_SMALL).params(
-                        String.valueOf(row.getRowNum()), column.getTitle(),
-                        column.getMax());
-            }
-
-            String fieldClassName = fieldClass.getSimpleName();
-            switch (fieldClassName) {
-                case "int":
-                case "Integer":
-                    obj = (int) numericValue;
-                    break;
-                case "long":
-                case "Long":
-                    obj = (long) numericValue;
-                    break;
-                case "float":
-                case "Float":
-                    obj = (float) numericValue;
-                    break;
-                case "byte":
-                case "Byte":
-                    obj = (byte) numericValue;
-                    break;
-                case "char":
-                case "Char":
-                    obj = (char) numericValue;
-                    break;
-                case "short":
-                case "Short":
-                    obj = (short) numericValue;
-                    break;
-                default:
-                    obj = numericValue;
-                    break;
-            }
-
-            // 数字
-            try {
-                ReflectionUtils.setField(t, column.getProperty(), obj);
-            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                logger.error("设置对象属性失败", e);
-                throw ExcelException.of(ExcelErrorCodes.SET_OBJECT_FIELD_VALUE_ERROR)
-                        .params(column.getProperty())
-                        .details("设置对象属性失败,属性：" + column.getProperty());
-            }
-        }
-
-        private static <T> void setBooleanValue(
-                T t,
-                Cell cell,
-                String property) {
-            // 如果是布尔类型
-            String str = cell.getStringCellValue();
-            boolean b = "是".equals(str) || "true".equals(str);
-
-            try {
-                ReflectionUtils.setField(t, property, b);
-            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                logger.error("设置对象属性失败", e);
-                throw ExcelException.of(ExcelErrorCodes.SET_OBJECT_FIELD_VALUE_ERROR)
-                        .params(property)
-                        .details("设置对象属性失败,属性：" + property);
-            }
-        }
-
         /**
          * 将Excel中的某一行转换成实体对象
          */
@@ -512,58 +1267,7 @@ public class ExcelUtils {
                 Row row,
                 Class<T> clazz,
                 List<ExcelColumn<T>> columns) throws ExcelException {
-            T t;
-            try {
-                t = clazz.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                logger.error("实例化对象失败", e);
-                throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("实例化对象失败");
-            }
-
-            int rowNum = row.getRowNum();
-
-            for (int i = 0; i < columns.size(); i++) {
-                ExcelColumn<T> column = columns.get(i);
-                String title = column.getTitle();
-                Cell cell = row.getCell(i);
-                if (null == cell) {
-                    if (column.isNullable()) {
-                        continue;
-                    }
-
-                    logger.error("第{}行{}值不能为空", rowNum, title);
-                    throw ExcelException.of(ExcelErrorCodes.VALUE_NULL).params(rowNum, title).details("第" + rowNum + "行" + title + "不能为空");
-                }
-
-                if (null != column.getDataHandler()) {
-                    column.getDataHandler().accept(t, cell);
-                    continue;
-                }
-
-                String property = column.getProperty();
-                Field field;
-                try {
-                    field = clazz.getDeclaredField(property);
-                } catch (NoSuchFieldException e) {
-                    logger.error("属性不存在！", e);
-                    throw ExcelException.of(ExcelErrorCodes.FIELD_NOT_EXISTS, "内部异常，请联系管理员");
-                }
-
-                Class fieldClass = field.getType();
-                if (Boolean.class.equals(fieldClass) || (fieldClass.getName().equals("boolean"))) {
-                    Utils.setBooleanValue(t, cell, property);
-                } else if (Number.class.isAssignableFrom(fieldClass) || fieldClass.isPrimitive()) {
-                    Utils.setNumberValue(row, t, column, cell, fieldClass);
-                } else if (fieldClass.equals(String.class)) {
-                    Utils.setStringValue(row, t, rowNum, column, title, cell, property, field);
-                } else if (fieldClass.equals(Date.class)) {
-                    Utils.setDateValue(row, t, title, cell, property);
-                } else if (fieldClass.equals(LocalDate.class)) {
-                    Utils.setLocalDateValue(row, t, title, cell, property);
-                }
-            }
-
-            return t;
+            return RowBinder.of(clazz, columns).bind(row);
         }
 
         /**
@@ -592,9 +1296,7 @@ public class ExcelUtils {
             Row row = sheet.createRow(0);
 
             // 设置文本格式
-            CellStyle textStyle = workbook.createCellStyle();
-            DataFormat format = workbook.createDataFormat();
-            textStyle.setDataFormat(format.getFormat("@"));
+            CellStyle textStyle = ExcelStyleRegistry.of(workbook).getStyle(ExcelStyle.of().setDataFormat("@"));
 
             for (int i = 0; i < columnList.size(); i++) {
                 ExcelColumn<T> column = columnList.get(i);
@@ -641,211 +1343,262 @@ public class ExcelUtils {
 
         /**
          * 将数据转换成Excel的Workbook
+         * 数据超出单个Sheet页的行数限制时，创建新的Sheet页（Sheet2、Sheet3……）并重复标题行
          *
-         * @param dataList 数据
-         * @param clazz    数据实体对象
+         * @param iterator 数据迭代器，写入时逐行读取
+         * @param options  导出选项
          * @param <T>      数据实体对象类型
          */
         private static <T> Workbook dataToWorkbook(
                 Workbook workbook,
-                List<T> dataList,
+                Iterator<T> iterator,
                 List<ExcelColumn<T>> columnList,
-                String mainTitle) {
-            List<String> titleList = new ArrayList<>(16);
-            List<String> propertyList = new ArrayList<>(16);
-
-            // 存储直接值
-            Map<String, Object> directValueMap = new HashMap<>(16);
-
-            columnList.forEach(column -> {
-                titleList.add(column.getTitle());
-                propertyList.add(column.getProperty());
-                if (null != column.getDirectValue()) {
-                    directValueMap.put(column.getProperty(), column.getDirectValue());
-                }
-            });
-
-            Sheet sheet = workbook.createSheet("Sheet1");
-
-            // 如果传入的mainTitle不为空，那么需要展示一个主标题
-            int startRow = 0;
-            if (StringUtils.isNotBlank(mainTitle)) {
-                Row mainTitleRow = sheet.createRow(0);
+                ExcelExportOptions options) {
+            ExcelSheetWriter<T> writer = new ExcelSheetWriter<>(workbook, columnList, options);
+            int rowsPerSheet = writer.getRowsPerSheet(options.getRowsPerSheet());
+
+            int sheetNo = 1;
+            Sheet sheet = writer.createSheet("Sheet" + sheetNo);
+            while (writer.writeRows(sheet, iterator, rowsPerSheet) == rowsPerSheet && iterator.hasNext()) {
+                sheet = writer.createSheet("Sheet" + (++sheetNo));
+            }
 
-                Cell cell = mainTitleRow.createCell(0);
-                cell.setCellValue(mainTitle);
+            return workbook;
+        }
 
-                CellStyle mainTitleCellStyle = getMainTitleStyle(workbook);
-                cell.setCellStyle(mainTitleCellStyle);
+        /**
+         * 按Sheet页拆分数据并行生成
+         * Sheet页及标题行先顺序创建，各Sheet页的数据行再在ForkJoin线程池中并行写入；
+         * 流式Workbook的各Sheet页分别写入各自的临时文件，不存在共享的可变状态
+         */
+        private static <T> void dataToWorkbookInParallel(
+                SXSSFWorkbook workbook,
+                List<T> dataList,
+                List<ExcelColumn<T>> columnList,
+                ExcelExportOptions options) {
+            ExcelSheetWriter<T> writer = new ExcelSheetWriter<>(workbook, columnList, options);
+            int rowsPerSheet = writer.getRowsPerSheet(options.getRowsPerSheet());
+            int size = dataList.size();
+            int sheetCount = Math.max(1, (size + rowsPerSheet - 1) / rowsPerSheet);
+
+            List<Sheet> sheets = new ArrayList<>(sheetCount);
+            for (int i = 0; i < sheetCount; i++) {
+                sheets.add(writer.createSheet("Sheet" + (i + 1)));
+            }
 
-                for (int i = 1; i < columnList.size(); i++) {
-                    mainTitleRow.createCell(i).setCellStyle(mainTitleCellStyle);
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, options.getParallelism()));
+            try {
+                pool.submit(() -> IntStream.range(0, sheetCount).parallel().forEach(i -> {
+                    List<T> part = dataList.subList(i * rowsPerSheet, Math.min(size, (i + 1) * rowsPerSheet));
+                    writer.writeRows(sheets.get(i), part.iterator(), rowsPerSheet);
+                })).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("生成Excel被中断");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
                 }
 
-                // 合并单元格
-                sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, columnList.size() - 1));
-
-                startRow = 1;
+                logger.error("生成Excel失败", e);
+                throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("生成Excel失败：" + e.getMessage());
+            } finally {
+                pool.shutdown();
             }
+        }
 
-            // 创建标题行
-            Row titleRow = sheet.createRow(startRow);
-            CellStyle titleCellStyle = getTitleCellStyle(workbook);
-            for (int col = 0, size = titleList.size(); col < size; col++) {
-                Cell cell = titleRow.createCell(col);
-                cell.setCellStyle(titleCellStyle);
-                cell.setCellValue(titleList.get(col));
+        /**
+         * 跳过标题行，将读取的行转换成实体对象后分批交给consumer处理
+         *
+         * @param rowSource 行数据来源，按顺序将每一行交给传入的处理函数，只需读取选择的列
+         */
+        private static <T> long readInBatches(
+                BiConsumer<ColumnSelection, Consumer<Row>> rowSource,
+                List<ExcelColumn<T>> columns,
+                Class<T> clazz,
+                ExcelReadOptions options,
+                Consumer<List<T>> consumer) {
+            int batchSize = Math.max(1, options.getBatchSize());
+            if (!options.isAsyncConsumer()) {
+                return readInBatches(rowSource, columns, clazz, options, batchSize, consumer);
             }
 
-            if (CollectionUtils.isEmpty(dataList)) {
-                return workbook;
+            try (AsyncBatchConsumer<T> asyncConsumer = new AsyncBatchConsumer<>(consumer, options.getQueueCapacity())) {
+                long count = readInBatches(rowSource, columns, clazz, options, batchSize, asyncConsumer);
+                asyncConsumer.finish();
+                return count;
             }
+        }
 
-            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
-
-            // 创建数据行
-            for (int rowIndex = 0, size = dataList.size(); rowIndex < size; rowIndex++) {
-                Row row = sheet.createRow(rowIndex + 1 + startRow);
-                T t = dataList.get(rowIndex);
-
-                for (int col = 0, pSize = propertyList.size(); col < pSize; col++) {
-                    String property = propertyList.get(col);
-                    Cell cell = row.createCell(col);
-                    cell.setCellStyle(getContentStyle(workbook));
+        private static <T> long readInBatches(
+                BiConsumer<ColumnSelection, Consumer<Row>> rowSource,
+                List<ExcelColumn<T>> columns,
+                Class<T> clazz,
+                ExcelReadOptions options,
+                int batchSize,
+                Consumer<List<T>> consumer) {
+            long[] count = new long[1];
+            List<List<T>> batch = new ArrayList<>(1);
+            batch.add(new ArrayList<>(batchSize));
+
+            Consumer<T> sink = t -> {
+                List<T> current = batch.get(0);
+                current.add(t);
+                count[0]++;
+                if (current.size() >= batchSize) {
+                    batch.set(0, new ArrayList<>(batchSize));
+                    consumer.accept(current);
+                }
+            };
+
+            RowBinder<T> binder = RowBinder.of(clazz, columns);
+            ColumnSelection selection = new ColumnSelection();
+            Consumer<Row> titleConsumer = mapTitle(binder, options, selection, true);
+            if (options.getParallelism() > 1) {
+                try (ParallelRowConverter<T> converter = new ParallelRowConverter<>(binder::bind,
+                        options.getParallelism(), options.getConversionQueueSize(), sink)) {
+                    rowSource.accept(selection, splitTitle(titleConsumer, converter::accept));
+                    converter.finish();
+                }
+            } else {
+                rowSource.accept(selection, splitTitle(titleConsumer, row -> sink.accept(binder.bind(row))));
+            }
 
-                    if (StringUtils.isBlank(property)) {
-                        continue;
-                    }
+            if (!batch.get(0).isEmpty()) {
+                consumer.accept(batch.get(0));
+            }
 
-                    // 如果有直接值，那么不从对象中读取
-                    Object obj = directValueMap.get(property);
-                    if (null == obj) {
-                        try {
-                            obj = ReflectionUtils.getFieldValue(t, property);
-                        } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                            logger.error("读取对象属性值失败");
-                            throw ExcelException.of(ExcelErrorCodes.GET_OBJECT_FIELD_VALUE_ERROR)
-                                    .details("读取对象属性值失败，错误消息：" + e.getMessage());
-                        }
-                        if (null == obj) {
-                            continue;
-                        }
-                    }
+            return count[0];
+        }
 
-                    if (obj instanceof Date) {
-                        Date date = (Date) obj;
-                        cell.setCellValue(format.format(date));
-                    } else if (obj instanceof LocalDate) {
-                        cell.setCellValue(((LocalDate) obj).format(dateFormatter));
-                    } else if (obj instanceof LocalDateTime) {
-                        cell.setCellValue(((LocalDateTime) obj).format(timeFormatter));
-                    } else {
-                        cell.setCellValue(obj.toString());
-                    }
-                }
-            }
+        /**
+         * 跳过第一行（标题行）
+         */
+        private static Consumer<Row> skipTitle(Consumer<Row> consumer) {
+            return splitTitle(row -> {
+            }, consumer);
+        }
 
-            return workbook;
+        /**
+         * 单个Sheet页的读取目标，跳过标题行，将其余行转换成实体对象后交给sink
+         */
+        private static <T> SheetTarget sheetTarget(
+                List<ExcelColumn<T>> columns,
+                Class<T> clazz,
+                ExcelReadOptions options,
+                Consumer<T> sink) {
+            RowBinder<T> binder = RowBinder.of(clazz, columns);
+            ColumnSelection selection = new ColumnSelection();
+            return new SheetTarget(selection,
+                    splitTitle(mapTitle(binder, options, selection, true), row -> sink.accept(binder.bind(row))));
         }
 
         /**
-         * 获取标题行的样式
+         * 标题行的处理函数，按标题导入时根据标题行确定各列的位置
          *
-         * @return 样式
+         * @param narrow 是否只读取对应上的列，为false时仍读取所有列
          */
-        private static CellStyle getTitleCellStyle(Workbook workbook) {
-            CellStyle cellStyle = workbook.createCellStyle();
-
-            // 设置背景
-            if (workbook instanceof XSSFWorkbook) {
-                XSSFColor color = new XSSFColor(java.awt.Color.GRAY);
-                ((XSSFCellStyle) cellStyle).setFillForegroundColor(color);
-                cellStyle.setFillPattern(XSSFCellStyle.SOLID_FOREGROUND);
-            } else {
-                cellStyle.setFillForegroundColor(HSSFColor.GREY_50_PERCENT.index);
-                cellStyle.setFillPattern(HSSFCellStyle.SOLID_FOREGROUND);
+        private static <T> Consumer<Row> mapTitle(
+                RowBinder<T> binder,
+                ExcelReadOptions options,
+                ColumnSelection selection,
+                boolean narrow) {
+            if (!options.isHeaderMapping()) {
+                return row -> {
+                };
             }
 
-            Font font = workbook.createFont();
-            font.setColor(HSSFColor.WHITE.index);
-            cellStyle.setFont(font);
-            cellStyle.setAlignment(HSSFCellStyle.ALIGN_CENTER);
-            return setBorder(cellStyle);
+            return row -> {
+                int[] indexes = binder.mapByTitle(row);
+                if (narrow) {
+                    selection.select(indexes);
+                }
+            };
         }
 
         /**
-         * 获取内容样式
-         *
-         * @param workbook 表格
-         * @return 单元格样式
+         * 第一行（标题行）交给titleConsumer处理，其余行交给consumer处理
          */
-        private static CellStyle getContentStyle(Workbook workbook) {
-            return setBorder(workbook.createCellStyle());
+        private static Consumer<Row> splitTitle(Consumer<Row> titleConsumer, Consumer<Row> consumer) {
+            boolean[] titleRead = new boolean[1];
+            return row -> {
+                if (!titleRead[0]) {
+                    titleRead[0] = true;
+                    titleConsumer.accept(row);
+                    return;
+                }
+
+                consumer.accept(row);
+            };
         }
 
         /**
-         * 设置边框
+         * 跳过标题行，将读取的行转换成实体对象，收集所有校验错误
          *
-         * @param cellStyle 单元格样式
-         * @return 单元格样式
+         * @param rowSource 行数据来源，按顺序将每一行交给传入的处理函数，只需读取选择的列
          */
-        private static CellStyle setBorder(CellStyle cellStyle) {
-            cellStyle.setBorderBottom(BorderFormatting.BORDER_THIN);
-            cellStyle.setBorderTop(BorderFormatting.BORDER_THIN);
-            cellStyle.setBorderLeft(BorderFormatting.BORDER_THIN);
-            cellStyle.setBorderRight(BorderFormatting.BORDER_THIN);
-            cellStyle.setLeftBorderColor(HSSFColor.GREY_50_PERCENT.index);
-            cellStyle.setRightBorderColor(HSSFColor.GREY_50_PERCENT.index);
-            cellStyle.setTopBorderColor(HSSFColor.GREY_50_PERCENT.index);
-            cellStyle.setBottomBorderColor(HSSFColor.GREY_50_PERCENT.index);
-            return cellStyle;
+        private static <T> ExcelReadResult<T> readWithErrors(
+                BiConsumer<ColumnSelection, Consumer<Row>> rowSource,
+                List<ExcelColumn<T>> columns,
+                Class<T> clazz,
+                ExcelReadOptions options) {
+            ExcelErrorCollector<T> collector = new ExcelErrorCollector<>(options.getMaxErrors(),
+                    options.isAnnotateErrors(), columns.size());
+            RowBinder<T> binder = RowBinder.of(clazz, columns);
+            Function<Row, ExcelErrorCollector.BoundRow<T>> bind = row -> {
+                List<ExcelReadError> errors = new ArrayList<>(0);
+                T t = binder.bind(row, errors);
+                return new ExcelErrorCollector.BoundRow<>(row, t, errors);
+            };
+            // 标注错误的副本需要复制所有列
+            ColumnSelection selection = new ColumnSelection();
+            Consumer<Row> titleConsumer = mapTitle(binder, options, selection, !options.isAnnotateErrors())
+                    .andThen(collector::title);
+
+            try {
+                if (options.getParallelism() > 1) {
+                    try (ParallelRowConverter<ExcelErrorCollector.BoundRow<T>> converter = new ParallelRowConverter<>(bind,
+                            options.getParallelism(), options.getConversionQueueSize(), collector::accept)) {
+                        rowSource.accept(selection, splitTitle(titleConsumer, converter::accept));
+                        converter.finish();
+                    }
+                } else {
+                    rowSource.accept(selection, splitTitle(titleConsumer, row -> collector.accept(bind.apply(row))));
+                }
+            } catch (RuntimeException e) {
+                collector.dispose();
+                throw e;
+            }
+
+            return collector.result();
         }
 
         /**
-         * 获取主标题行样式
-         *
-         * @param workbook 表格
-         * @return 样式
+         * 逐行读取Excel第一个Sheet页的内容，未选择的列不解析
+         * 以文件方式打开，根据文件头判断格式：xlsx文件使用SAX流式读取，xls文件使用HSSF事件模型流式读取
          */
-        private static CellStyle getMainTitleStyle(Workbook workbook) {
-            CellStyle cellStyle = workbook.createCellStyle();
-            Font font = workbook.createFont();
-            font.setBoldweight(HSSFFont.BOLDWEIGHT_BOLD);
-            cellStyle.setFont(font);
-            cellStyle.setAlignment(HSSFCellStyle.ALIGN_CENTER);
-            return setBorder(cellStyle);
+        private static void readExcelRows(
+                ExcelSource source,
+                ColumnSelection selection,
+                Consumer<Row> consumer) {
+            readExcelSheet(source, new SheetTarget(selection, consumer));
         }
 
         /**
-         * 上传Excel
+         * 读取Excel第一个Sheet页，行处理函数抛出ReadStoppedException时停止
          */
-        private static void readExcelFileContent(
-                String fileName,
-                InputStream inputStream,
-                Consumer<Sheet> consumer) {
-            Sheet sheet;
-
-            assert fileName != null;
-            if (fileName.endsWith(".xlsx")) {
-                try {
-                    sheet = new XSSFWorkbook(inputStream).getSheetAt(0);
-                } catch (IOException e) {
-                    logger.error("读取上传的文件内容失败！", e);
-                    throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
-                }
-            } else if (fileName.endsWith(".xls")) {
-                try {
-                    sheet = new HSSFWorkbook(inputStream).getSheetAt(0);
-                } catch (IOException e) {
-                    logger.error("读取上传的文件内容失败！", e);
-                    throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        private static void readExcelSheet(ExcelSource source, SheetTarget target) {
+            try (ExcelFile file = source.open()) {
+                if (file.isXlsx()) {
+                    try (XlsxStreamingReader reader = XlsxStreamingReader.open(file.getPath())) {
+                        reader.readSheet(0, target);
+                    }
+                } else {
+                    try (XlsStreamingReader reader = XlsStreamingReader.open(file.getPath())) {
+                        reader.readSheet(0, target);
+                    }
                 }
-            } else {
-                logger.error("文件不是Excel格式，无法处理");
-                throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
             }
-
-            consumer.accept(sheet);
         }
     }
 }
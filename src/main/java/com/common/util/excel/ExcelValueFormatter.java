@@ -0,0 +1,46 @@
+package com.common.util.excel;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * 导出值的文本格式化，Excel的文本单元格及CSV共用
+ * 非线程安全，每个写入线程使用单独的实例
+ *
+ * @version V1.0
+ **/
+class ExcelValueFormatter {
+    static final String DATE_FORMAT = "yyyy-MM-dd";
+    static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+
+    /**
+     * 将值转换成文本
+     *
+     * @param value 值，不能为空
+     * @return 文本
+     */
+    String format(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Date) {
+            return dateFormat.format((Date) value);
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).format(DATE_FORMATTER);
+        } else if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).format(DATE_TIME_FORMATTER);
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+
+        return value.toString();
+    }
+}
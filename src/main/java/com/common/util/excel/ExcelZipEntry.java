@@ -0,0 +1,62 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * zip导出中的一个文件
+ * 写入时才生成内容，写完一个文件后再生成下一个
+ *
+ * @version V1.0
+ **/
+@FunctionalInterface
+public interface ExcelZipEntry {
+    /**
+     * 将文件内容写入到输出流中，不需要关闭输出流
+     *
+     * @param outputStream 输出流
+     * @throws IOException 写入失败
+     */
+    void write(OutputStream outputStream) throws IOException;
+
+    /**
+     * 由Excel文件生成者生成的文件，写入后清理流式导出的临时文件
+     *
+     * @param supplier Excel文件生成者，如() -> ExcelUtils.dataToSXSSFWorkbook(...)
+     */
+    static ExcelZipEntry workbook(Supplier<Workbook> supplier) {
+        return outputStream -> {
+            Workbook workbook = supplier.get();
+            try {
+                workbook.write(outputStream);
+            } finally {
+                if (workbook instanceof SXSSFWorkbook) {
+                    ((SXSSFWorkbook) workbook).dispose();
+                }
+            }
+        };
+    }
+
+    /**
+     * CSV/TSV文件，带UTF-8的BOM
+     *
+     * @param iterator   数据迭代器
+     * @param columnList 列信息
+     * @param delimiter  分隔符，如CsvUtils.COMMA、CsvUtils.TAB
+     * @param <T>        数据对象类型
+     */
+    static <T> ExcelZipEntry csv(Iterator<T> iterator, List<ExcelColumn<T>> columnList, char delimiter) {
+        return outputStream -> {
+            Writer writer = CsvUtils.newWriter(outputStream);
+            writer.write(CsvUtils.UTF8_BOM);
+            CsvUtils.write(iterator, columnList, writer, delimiter);
+        };
+    }
+}
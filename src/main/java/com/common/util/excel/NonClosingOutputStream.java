@@ -0,0 +1,27 @@
+package com.common.util.excel;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 关闭时只刷新、不关闭底层流的输出流
+ * POI的Workbook.write在写入完成后会关闭传入的流，写入zip条目时需要保持zip流打开
+ *
+ * @version V1.0
+ **/
+class NonClosingOutputStream extends FilterOutputStream {
+    NonClosingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
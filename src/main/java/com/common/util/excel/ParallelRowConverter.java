@@ -0,0 +1,138 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 在线程池中并行将行转换成实体对象，按原来的行顺序输出
+ * 解析线程提交转换任务，等待转换的行达到queueSize时按顺序取出最早的结果；
+ * 转换失败时按行顺序抛出第一个失败行的异常，异常中的行号与串行转换一致
+ * 转换任务在所有导入共享的线程池中执行，同一次导入最多同时执行parallelism个任务，其余的在本地排队
+ *
+ * @version V1.0
+ **/
+class ParallelRowConverter<T> implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger(ParallelRowConverter.class);
+
+    private final Function<Row, T> converter;
+    private final Consumer<T> sink;
+    private final int queueSize;
+    private final int parallelism;
+    private final Executor executor;
+    private final Deque<Future<T>> pending;
+
+    /**
+     * 等待提交到线程池的任务及已提交未完成的任务数，由this同步
+     */
+    private final Deque<FutureTask<T>> waiting = new ArrayDeque<>();
+    private int running;
+
+    /**
+     * @param converter   行转换函数
+     * @param parallelism 最多同时转换的行数
+     * @param queueSize   最多等待输出的行数
+     * @param sink        按行顺序接收转换结果
+     */
+    ParallelRowConverter(Function<Row, T> converter, int parallelism, int queueSize, Consumer<T> sink) {
+        this.converter = converter;
+        this.sink = sink;
+        this.queueSize = Math.max(1, queueSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.pending = new ArrayDeque<>(this.queueSize);
+        this.executor = ExcelExecutors.conversion();
+    }
+
+    /**
+     * 提交一行进行转换
+     */
+    void accept(Row row) {
+        if (pending.size() >= queueSize) {
+            drainOne();
+        }
+        FutureTask<T> task = new FutureTask<T>(() -> converter.apply(row)) {
+            @Override
+            protected void done() {
+                submitNext();
+            }
+        };
+        pending.addLast(task);
+
+        synchronized (this) {
+            if (running >= parallelism) {
+                waiting.addLast(task);
+                return;
+            }
+            running++;
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * 一个任务结束后提交下一个等待的任务
+     */
+    private void submitNext() {
+        FutureTask<T> next;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (null == next) {
+                running--;
+                return;
+            }
+        }
+        executor.execute(next);
+    }
+
+    /**
+     * 等待所有行转换完成并输出
+     */
+    void finish() {
+        while (!pending.isEmpty()) {
+            drainOne();
+        }
+    }
+
+    private void drainOne() {
+        Future<T> future = pending.pollFirst();
+        try {
+            sink.accept(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("导入被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            logger.error("转换导入数据失败", cause);
+            throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("转换导入数据失败");
+        }
+    }
+
+    /**
+     * 取消未完成的转换，丢弃未输出的结果；正在执行的转换不中断，线程池由所有导入共享
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            waiting.clear();
+        }
+        for (Future<T> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+}
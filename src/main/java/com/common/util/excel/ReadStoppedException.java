@@ -0,0 +1,17 @@
+package com.common.util.excel;
+
+/**
+ * 行处理函数抛出该异常时停止读取当前Sheet页，读取方法正常返回
+ * 不记录堆栈，使用INSTANCE即可
+ *
+ * @version V1.0
+ **/
+class ReadStoppedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    static final ReadStoppedException INSTANCE = new ReadStoppedException();
+
+    private ReadStoppedException() {
+        super("读取已停止", null, false, false);
+    }
+}
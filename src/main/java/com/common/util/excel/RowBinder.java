@@ -0,0 +1,563 @@
+package com.common.util.excel;
+
+import com.common.util.ReflectionUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 将Excel中的行转换成实体对象
+ * 每个（数据类型，属性列表）只解析一次：构造函数、各列的写入函数及根据属性类型选择的转换函数，
+ * 转换时按列下标直接调用；属性包括从父类继承的属性
+ * 解析结果挂在数据类型上（ClassValue），不会阻止热部署后旧的类加载器被回收
+ * 线程安全，可以在多个线程中同时转换
+ *
+ * @version V1.0
+ **/
+class RowBinder<T> {
+    private final static Logger logger = LoggerFactory.getLogger(RowBinder.class);
+
+    private static final ClassValue<Map<List<String>, Plan>> CACHE = new ClassValue<Map<List<String>, Plan>>() {
+        @Override
+        protected Map<List<String>, Plan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * 1900年1月1日及1904年1月1日的epochDay
+     */
+    private static final long EPOCH_DAY_1900 = LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final long EPOCH_DAY_1904 = LocalDate.of(1904, 1, 1).toEpochDay();
+
+    private static final String GENERAL_FORMAT = "General";
+
+    private final List<ExcelColumn<T>> columns;
+    private final Plan plan;
+
+    /**
+     * 各列在文件中的列序号，小于0表示文件中没有该列；为空时按列的顺序对应
+     */
+    private int[] cellIndexes;
+
+    private RowBinder(List<ExcelColumn<T>> columns, Plan plan) {
+        this.columns = columns;
+        this.plan = plan;
+    }
+
+    /**
+     * 获取数据类型及列信息对应的转换器
+     *
+     * @param clazz   数据类型
+     * @param columns 列信息，校验规则（是否可空、最大最小值）及dataHandler在转换时读取
+     */
+    static <T> RowBinder<T> of(Class<T> clazz, List<ExcelColumn<T>> columns) {
+        String[] properties = new String[columns.size()];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = columns.get(i).getProperty();
+        }
+
+        return new RowBinder<>(columns,
+                CACHE.get(clazz).computeIfAbsent(Arrays.asList(properties), key -> new Plan(clazz, properties)));
+    }
+
+    /**
+     * 根据标题行确定各列在文件中的位置，之后的转换按标题对应列
+     * 标题比较时忽略大小写及空白，也可以匹配列的aliases；必须在转换之前调用
+     * 数值标题（如年份、月份）按单元格格式显示的文本比较，公式标题按公式的计算结果比较
+     *
+     * @param titleRow 标题行
+     * @return 各列在文件中的列序号，小于0表示文件中没有该列
+     * @throws ExcelException 找不到非空列的标题时抛出TITLE_NOT_FOUND
+     */
+    int[] mapByTitle(Row titleRow) {
+        Map<String, Integer> titleIndex = new HashMap<>(titleRow.getPhysicalNumberOfCells() * 2);
+        DataFormatter formatter = new DataFormatter();
+        for (Cell cell : titleRow) {
+            String title = titleText(cell, formatter);
+            if (null != title) {
+                titleIndex.putIfAbsent(normalizeTitle(title), cell.getColumnIndex());
+            }
+        }
+
+        int[] indexes = new int[columns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            ExcelColumn<T> column = columns.get(i);
+            Integer index = titleIndex.get(normalizeTitle(column.getTitle()));
+            if (null == index && null != column.getAliases()) {
+                for (String alias : column.getAliases()) {
+                    index = titleIndex.get(normalizeTitle(alias));
+                    if (null != index) {
+                        break;
+                    }
+                }
+            }
+
+            if (null == index && !column.isNullable()) {
+                logger.error("导入文件中缺少{}列", column.getTitle());
+                throw ExcelException.of(ExcelErrorCodes.TITLE_NOT_FOUND).params(column.getTitle())
+                        .details("导入文件中缺少" + column.getTitle() + "列");
+            }
+
+            indexes[i] = null == index ? -1 : index;
+        }
+
+        this.cellIndexes = indexes;
+        return indexes;
+    }
+
+    /**
+     * 标题单元格的文本，公式取缓存的计算结果；不是文本或数值时返回null
+     */
+    private static String titleText(Cell cell, DataFormatter formatter) {
+        int cellType = cell.getCellType();
+        if (Cell.CELL_TYPE_FORMULA == cellType) {
+            cellType = cell.getCachedFormulaResultType();
+        }
+
+        switch (cellType) {
+            case Cell.CELL_TYPE_STRING:
+                return cell.getStringCellValue();
+            case Cell.CELL_TYPE_NUMERIC:
+                CellStyle style = cell.getCellStyle();
+                return null == style
+                        ? formatter.formatRawCellContents(cell.getNumericCellValue(), 0, GENERAL_FORMAT)
+                        : formatter.formatRawCellContents(cell.getNumericCellValue(), style.getDataFormat(),
+                        style.getDataFormatString());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 标题比较时忽略大小写及所有空白（包括全角空格）
+     */
+    private static String normalizeTitle(String title) {
+        if (null == title) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder(title.length());
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 将一行转换成实体对象，遇到第一个错误时抛出异常
+     */
+    T bind(Row row) throws ExcelException {
+        return bind(row, null);
+    }
+
+    /**
+     * 将一行转换成实体对象
+     *
+     * @param row    行
+     * @param errors 不为空时收集该行所有列的校验错误，不抛出异常；为空时遇到第一个错误即抛出异常
+     * @return 转换的对象，收集到错误时返回空
+     */
+    @SuppressWarnings("unchecked")
+    T bind(Row row, List<ExcelReadError> errors) throws ExcelException {
+        T t = (T) plan.newInstance();
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (null == errors) {
+                bindColumn(row, t, i);
+                continue;
+            }
+
+            try {
+                bindColumn(row, t, i);
+            } catch (ExcelException e) {
+                errors.add(ExcelReadError.of(row.getRowNum(), cellIndex(i), columns.get(i), e));
+            }
+        }
+
+        return null == errors || errors.isEmpty() ? t : null;
+    }
+
+    /**
+     * 列定义对应的文件中的列序号，文件中没有该列时返回-1
+     */
+    private int cellIndex(int col) {
+        return null == cellIndexes ? col : cellIndexes[col];
+    }
+
+    private void bindColumn(Row row, T t, int col) {
+        ExcelColumn<T> column = columns.get(col);
+        String title = column.getTitle();
+        int cellIndex = cellIndex(col);
+        Cell cell = cellIndex < 0 ? null : row.getCell(cellIndex);
+        if (null == cell) {
+            if (column.isNullable()) {
+                return;
+            }
+
+            int rowNum = row.getRowNum();
+            logger.error("第{}行{}值不能为空", rowNum, title);
+            throw ExcelException.of(ExcelErrorCodes.VALUE_NULL).params(rowNum, title).details("第" + rowNum + "行" + title + "不能为空");
+        }
+
+        if (null != column.getDataHandler()) {
+            column.getDataHandler().accept(t, cell);
+            return;
+        }
+
+        plan.write(col, row, column, cell, t);
+    }
+
+    /**
+     * 单元格值转换函数，返回空时不设置属性
+     */
+    @FunctionalInterface
+    private interface CellConverter {
+        Object convert(Row row, ExcelColumn<?> column, Cell cell);
+    }
+
+    /**
+     * 单元格转换并写入属性的函数
+     */
+    @FunctionalInterface
+    private interface CellWriter {
+        void write(Row row, ExcelColumn<?> column, Cell cell, Object target);
+    }
+
+    /**
+     * 数据类型及属性列表解析结果
+     */
+    private static class Plan {
+        private final Class<?> clazz;
+        private final String[] properties;
+        private final MethodHandle constructor;
+        private final CellWriter[] writers;
+        private final Class<?>[] propertyTypes;
+
+        Plan(Class<?> clazz, String[] properties) {
+            this.clazz = clazz;
+            this.properties = properties;
+            this.constructor = findConstructor(clazz);
+            this.writers = new CellWriter[properties.length];
+            this.propertyTypes = new Class<?>[properties.length];
+
+            for (int i = 0; i < properties.length; i++) {
+                if (null == properties[i]) {
+                    continue;
+                }
+
+                try {
+                    propertyTypes[i] = ReflectionUtils.getPropertyType(clazz, properties[i]);
+                    writers[i] = writerFor(clazz, properties[i], propertyTypes[i]);
+                } catch (NoSuchMethodException ignored) {
+                    // 属性不存在或不可写时只在需要转换该列时报错，设置了dataHandler的列不需要属性
+                    propertyTypes[i] = null;
+                }
+            }
+        }
+
+        Object newInstance() {
+            if (null == constructor) {
+                throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("实例化对象失败");
+            }
+
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                logger.error("实例化对象失败", e);
+                throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("实例化对象失败");
+            }
+        }
+
+        /**
+         * 转换单元格并写入属性，不支持的属性类型不设置
+         */
+        void write(int col, Row row, ExcelColumn<?> column, Cell cell, Object t) {
+            if (null == propertyTypes[col]) {
+                logger.error("属性不存在！{}.{}", clazz.getName(), properties[col]);
+                throw ExcelException.of(ExcelErrorCodes.FIELD_NOT_EXISTS, "内部异常，请联系管理员");
+            }
+
+            CellWriter writer = writers[col];
+            if (null == writer) {
+                return;
+            }
+
+            try {
+                writer.write(row, column, cell, t);
+            } catch (ExcelException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                logger.error("设置对象属性失败", e);
+                throw ExcelException.of(ExcelErrorCodes.SET_OBJECT_FIELD_VALUE_ERROR)
+                        .params(properties[col])
+                        .details("设置对象属性失败,属性：" + properties[col]);
+            }
+        }
+
+        private static MethodHandle findConstructor(Class<?> clazz) {
+            try {
+                Constructor<?> constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(constructor)
+                        .asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+                logger.error("实例化对象失败，类{}没有可用的无参构造函数", clazz.getName(), e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 根据属性类型选择转换及写入函数，不支持的类型返回空（不设置该属性）
+     * 基本类型属性通过对应的基本类型写入函数直接写入，不装箱
+     */
+    private static CellWriter writerFor(Class<?> clazz, String property, Class<?> type) throws NoSuchMethodException {
+        if (int.class == type || short.class == type || byte.class == type || char.class == type) {
+            ObjIntConsumer<Object> setter = ReflectionUtils.intSetter(clazz, property);
+            return (row, column, cell, t) -> setter.accept(t, (int) toNumber(row, column, cell));
+        } else if (long.class == type) {
+            ObjLongConsumer<Object> setter = ReflectionUtils.longSetter(clazz, property);
+            return (row, column, cell, t) -> setter.accept(t, (long) toNumber(row, column, cell));
+        } else if (double.class == type || float.class == type) {
+            ObjDoubleConsumer<Object> setter = ReflectionUtils.doubleSetter(clazz, property);
+            return (row, column, cell, t) -> setter.accept(t, toNumber(row, column, cell));
+        }
+
+        CellConverter converter = converterFor(type);
+        if (null == converter) {
+            return null;
+        }
+
+        BiConsumer<Object, Object> setter = ReflectionUtils.setter(clazz, property);
+        return (row, column, cell, t) -> {
+            Object value = converter.convert(row, column, cell);
+            if (null != value) {
+                setter.accept(t, value);
+            }
+        };
+    }
+
+    /**
+     * 根据对象类型属性选择转换函数，不支持的类型返回空
+     */
+    private static CellConverter converterFor(Class<?> type) {
+        if (Boolean.class == type || boolean.class == type) {
+            return (row, column, cell) -> toBoolean(row, column, cell) ? Boolean.TRUE : Boolean.FALSE;
+        } else if (Integer.class == type) {
+            return (row, column, cell) -> (int) toNumber(row, column, cell);
+        } else if (Long.class == type) {
+            return (row, column, cell) -> (long) toNumber(row, column, cell);
+        } else if (Double.class == type) {
+            return (row, column, cell) -> toNumber(row, column, cell);
+        } else if (Float.class == type) {
+            return (row, column, cell) -> (float) toNumber(row, column, cell);
+        } else if (Short.class == type) {
+            return (row, column, cell) -> (short) toNumber(row, column, cell);
+        } else if (Byte.class == type) {
+            return (row, column, cell) -> (byte) toNumber(row, column, cell);
+        } else if (Character.class == type) {
+            return (row, column, cell) -> (char) toNumber(row, column, cell);
+        } else if (BigDecimal.class == type) {
+            return (row, column, cell) -> BigDecimal.valueOf(toNumber(row, column, cell));
+        } else if (Number.class.isAssignableFrom(type)) {
+            return (row, column, cell) -> toNumber(row, column, cell);
+        } else if (String.class == type) {
+            return RowBinder::toText;
+        } else if (Date.class == type) {
+            return RowBinder::toDate;
+        } else if (LocalDate.class == type) {
+            return RowBinder::toLocalDate;
+        } else if (LocalDateTime.class == type) {
+            return RowBinder::toLocalDateTime;
+        }
+
+        return null;
+    }
+
+    /**
+     * 布尔单元格直接取值，数值单元格非0为true，文本单元格为“是”或“true”时为true
+     */
+    private static boolean toBoolean(Row row, ExcelColumn<?> column, Cell cell) {
+        switch (cell.getCellType()) {
+            case Cell.CELL_TYPE_BOOLEAN:
+                return cell.getBooleanCellValue();
+            case Cell.CELL_TYPE_NUMERIC:
+                return 0 != cell.getNumericCellValue();
+            case Cell.CELL_TYPE_BLANK:
+                return false;
+            default:
+                String str = toText(row, column, cell);
+                return "是".equals(str) || "true".equals(str);
+        }
+    }
+
+    private static String toText(Row row, ExcelColumn<?> column, Cell cell) {
+        try {
+            return cell.getStringCellValue();
+        } catch (IllegalStateException ex) {
+            logger.error("读取文本异常", ex);
+            throw ExcelException.of(ExcelErrorCodes.READ_TEXT_ERROR).params(String.valueOf(row.getRowNum()), column.getTitle())
+                    .details("读取文本异常，行：" + row.getRowNum() + ", 字段：" + column.getTitle());
+        }
+    }
+
+    private static double toNumber(Row row, ExcelColumn<?> column, Cell cell) {
+        double numericValue;
+        try {
+            numericValue = cell.getNumericCellValue();
+        } catch (Exception ex) {
+            logger.error("读取数值异常", ex);
+            throw ExcelException.of(ExcelErrorCodes.READ_NUMBER_ERROR).params(String.valueOf(row.getRowNum()), column.getTitle())
+                    .details("读取数值异常，行：" + row.getRowNum() + ", 字段：" + column.getTitle());
+        }
+
+        if (null != column.getMax() && column.getMax() < numericValue) {
+            throw ExcelException.of(ExcelErrorCodes.NUMBER_TOO_LARGE).params(
+                    String.valueOf(row.getRowNum()), column.getTitle(),
+                    column.getMax());
+        }
+
+        if (null != column.getMin() && column.getMin() > numericValue) {
+            throw ExcelException.of(ExcelErrorCodes.NUMBER_TOO_SMALL).params(
+                    String.valueOf(row.getRowNum()), column.getTitle(),
+                    column.getMin());
+        }
+
+        return numericValue;
+    }
+
+    private static Object toDate(Row row, ExcelColumn<?> column, Cell cell) {
+        if (!(cell instanceof StreamingCell)) {
+            return readDate(row, column, cell);
+        }
+
+        LocalDateTime dateTime = toLocalDateTime(row, column, cell);
+        return null == dateTime ? null : Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDate toLocalDate(Row row, ExcelColumn<?> column, Cell cell) {
+        if (!(cell instanceof StreamingCell)) {
+            Date date = readDate(row, column, cell);
+            return null == date ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+
+        double serial = readSerial(row, column, cell);
+        if (Double.isNaN(serial)) {
+            return null;
+        }
+
+        return serialToLocalDateTime(serial, ((StreamingCell) cell).isDate1904()).toLocalDate();
+    }
+
+    private static LocalDateTime toLocalDateTime(Row row, ExcelColumn<?> column, Cell cell) {
+        if (!(cell instanceof StreamingCell)) {
+            Date date = readDate(row, column, cell);
+            return null == date ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        }
+
+        double serial = readSerial(row, column, cell);
+        if (Double.isNaN(serial)) {
+            return null;
+        }
+
+        return serialToLocalDateTime(serial, ((StreamingCell) cell).isDate1904());
+    }
+
+    /**
+     * 读取日期单元格的序列值，空单元格及无效的日期（负数）返回NaN
+     */
+    private static double readSerial(Row row, ExcelColumn<?> column, Cell cell) {
+        if (Cell.CELL_TYPE_BLANK == cell.getCellType()) {
+            return Double.NaN;
+        }
+
+        double serial;
+        try {
+            serial = cell.getNumericCellValue();
+        } catch (Exception ex) {
+            throw dateError(row, column, ex);
+        }
+        return serial < 0 ? Double.NaN : serial;
+    }
+
+    /**
+     * 非流式读取的单元格不能直接得到日期系统，仍通过POI转换
+     */
+    private static Date readDate(Row row, ExcelColumn<?> column, Cell cell) {
+        try {
+            return cell.getDateCellValue();
+        } catch (Exception ex) {
+            throw dateError(row, column, ex);
+        }
+    }
+
+    private static ExcelException dateError(Row row, ExcelColumn<?> column, Exception ex) {
+        logger.error("读取日期字段异常", ex);
+        return ExcelException.of(ExcelErrorCodes.READ_DATE_ERROR)
+                .params(row.getRowNum(), column.getTitle())
+                .details("读取日期字段异常，行：" + row.getRowNum() + ", 列：" + column.getTitle());
+    }
+
+    /**
+     * Excel日期序列值对应的日期时间，按毫秒四舍五入，与POI的DateUtil.getJavaDate一致
+     *
+     * @param serial   日期序列值，不能为负数
+     * @param date1904 是否使用1904日期系统
+     * @return 日期时间
+     */
+    static LocalDateTime serialToLocalDateTime(double serial, boolean date1904) {
+        long millis = millisOfDay(serial);
+        return LocalDate.ofEpochDay(epochDay(serial, date1904) + millis / DAY_MILLIS)
+                .atTime(LocalTime.ofNanoOfDay(millis % DAY_MILLIS * 1_000_000L));
+    }
+
+    /**
+     * Excel日期序列值整数部分对应的epochDay，与POI的DateUtil一致：
+     * 1900日期系统中1为1900-01-01，并保留Excel将1900年当作闰年的错误（60之后减去一天）；1904日期系统中0为1904-01-01
+     */
+    private static long epochDay(double serial, boolean date1904) {
+        long wholeDays = (long) serial;
+        if (date1904) {
+            return EPOCH_DAY_1904 + wholeDays;
+        }
+        return EPOCH_DAY_1900 + wholeDays - (wholeDays < 61 ? 1 : 2);
+    }
+
+    /**
+     * Excel日期序列值小数部分对应的毫秒数，四舍五入，可能等于一整天
+     */
+    private static long millisOfDay(double serial) {
+        return (long) ((serial - (long) serial) * DAY_MILLIS + 0.5);
+    }
+}
@@ -0,0 +1,128 @@
+package com.common.util.excel;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * xlsx共享字符串表的紧凑存储
+ * 字符串以UTF-8编码保存在堆外的直接内存块中，堆内只保留每个字符串的位置及长度；
+ * 读取时才解码成String，流式读取时未选择的列不会创建任何String
+ * 构建完成后只读，可以在多个线程中同时读取
+ *
+ * @version V1.0
+ **/
+class SharedStringsBuffer {
+    /**
+     * 每个内存块的大小，超过该大小的字符串单独占用一个内存块
+     */
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * 初始容量上限，uniqueCount来自上传的文件，不能直接按其分配内存
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /**
+     * 各字符串的位置，高32位为内存块序号，低32位为块内偏移
+     */
+    private long[] positions;
+    private int[] lengths;
+    private int count;
+
+    /**
+     * @param expectedCount 预计的字符串数，通常为sst的uniqueCount；超过初始容量上限时在添加时扩容
+     */
+    SharedStringsBuffer(int expectedCount) {
+        int capacity = Math.min(Math.max(16, expectedCount), MAX_INITIAL_CAPACITY);
+        this.positions = new long[capacity];
+        this.lengths = new int[capacity];
+    }
+
+    /**
+     * 添加一个字符串，只在构建时调用
+     */
+    void add(CharSequence value) {
+        if (count == positions.length) {
+            int capacity = positions.length + (positions.length >> 1);
+            positions = Arrays.copyOf(positions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+
+        ByteBuffer chunk = chunks.isEmpty() ? newChunk(CHUNK_SIZE) : chunks.get(chunks.size() - 1);
+        int start = chunk.position();
+        if (!encode(value, chunk)) {
+            // 当前块剩余空间不足时放到新的块中
+            chunk.position(start);
+            chunk = newChunk(Math.max(CHUNK_SIZE, (int) (value.length() * encoder.maxBytesPerChar())));
+            start = 0;
+            encode(value, chunk);
+        }
+
+        positions[count] = ((long) (chunks.size() - 1) << 32) | start;
+        lengths[count] = chunk.position() - start;
+        count++;
+    }
+
+    private boolean encode(CharSequence value, ByteBuffer chunk) {
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(value);
+        CoderResult result = encoder.encode(chars, chunk, true);
+        if (result.isOverflow()) {
+            return false;
+        }
+        return !encoder.flush(chunk).isOverflow();
+    }
+
+    private ByteBuffer newChunk(int size) {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(size);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    /**
+     * 解码指定序号的字符串
+     *
+     * @throws ExcelException 序号超出范围时抛出FILE_NOT_EXCEL
+     */
+    String get(int index) {
+        if (null == positions) {
+            throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("Excel文件已关闭");
+        }
+        if (index < 0 || index >= count) {
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "共享字符串序号" + index + "超出范围");
+        }
+
+        long position = positions[index];
+        ByteBuffer chunk = chunks.get((int) (position >>> 32)).duplicate();
+        chunk.position((int) position);
+        byte[] bytes = new byte[lengths[index]];
+        chunk.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * 释放内存块，之后不能再读取；直接内存不必等到GC回收缓冲区对象时才能被回收
+     */
+    void release() {
+        chunks.clear();
+        positions = null;
+        lengths = null;
+        count = 0;
+    }
+}
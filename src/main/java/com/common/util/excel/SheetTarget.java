@@ -0,0 +1,37 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Row;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Sheet页的读取目标
+ * consumer抛出ReadStoppedException时停止读取该Sheet页
+ *
+ * @version V1.0
+ **/
+class SheetTarget {
+    /**
+     * 需要读取的列
+     */
+    final ColumnSelection selection;
+    /**
+     * 行处理函数，按行号顺序调用
+     */
+    final Consumer<Row> consumer;
+    /**
+     * Sheet页维度中的行数（最后一行的行号+1），读取到维度信息时在读取行之前调用，可以为空
+     */
+    final IntConsumer dimension;
+
+    SheetTarget(ColumnSelection selection, Consumer<Row> consumer) {
+        this(selection, consumer, null);
+    }
+
+    SheetTarget(ColumnSelection selection, Consumer<Row> consumer, IntConsumer dimension) {
+        this.selection = selection;
+        this.consumer = consumer;
+        this.dimension = dimension;
+    }
+}
@@ -0,0 +1,318 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.formula.FormulaParseException;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * 流式读取时使用的只读单元格
+ * 只保存单元格的值及样式，公式单元格直接作为其计算结果的类型；
+ * 取值方法的行为与POI的单元格一致，修改方法抛出UnsupportedOperationException
+ *
+ * @version V1.0
+ **/
+class StreamingCell implements Cell {
+    private final StreamingRow row;
+    private final int columnIndex;
+    private final int cellType;
+    private final CellStyle cellStyle;
+    private final boolean date1904;
+
+    private String stringValue;
+    private SharedStringsBuffer sharedStrings;
+    private int sharedStringIndex;
+    private double numericValue;
+    private boolean booleanValue;
+    private byte errorValue;
+
+    private StreamingCell(StreamingRow row, int columnIndex, int cellType, CellStyle cellStyle, boolean date1904) {
+        this.row = row;
+        this.columnIndex = columnIndex;
+        this.cellType = cellType;
+        this.cellStyle = cellStyle;
+        this.date1904 = date1904;
+    }
+
+    static StreamingCell blank(StreamingRow row, int columnIndex, CellStyle cellStyle) {
+        return new StreamingCell(row, columnIndex, CELL_TYPE_BLANK, cellStyle, false);
+    }
+
+    static StreamingCell string(StreamingRow row, int columnIndex, CellStyle cellStyle, String value) {
+        StreamingCell cell = new StreamingCell(row, columnIndex, CELL_TYPE_STRING, cellStyle, false);
+        cell.stringValue = value;
+        return cell;
+    }
+
+    /**
+     * 共享字符串单元格，第一次取值时才解码
+     */
+    static StreamingCell sharedString(StreamingRow row, int columnIndex, CellStyle cellStyle,
+                                      SharedStringsBuffer sharedStrings, int index) {
+        StreamingCell cell = new StreamingCell(row, columnIndex, CELL_TYPE_STRING, cellStyle, false);
+        cell.sharedStrings = sharedStrings;
+        cell.sharedStringIndex = index;
+        return cell;
+    }
+
+    static StreamingCell numeric(StreamingRow row, int columnIndex, CellStyle cellStyle, double value, boolean date1904) {
+        StreamingCell cell = new StreamingCell(row, columnIndex, CELL_TYPE_NUMERIC, cellStyle, date1904);
+        cell.numericValue = value;
+        return cell;
+    }
+
+    static StreamingCell bool(StreamingRow row, int columnIndex, CellStyle cellStyle, boolean value) {
+        StreamingCell cell = new StreamingCell(row, columnIndex, CELL_TYPE_BOOLEAN, cellStyle, false);
+        cell.booleanValue = value;
+        return cell;
+    }
+
+    static StreamingCell error(StreamingRow row, int columnIndex, CellStyle cellStyle, byte value) {
+        StreamingCell cell = new StreamingCell(row, columnIndex, CELL_TYPE_ERROR, cellStyle, false);
+        cell.errorValue = value;
+        return cell;
+    }
+
+    @Override
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return row.getRowNum();
+    }
+
+    /**
+     * 流式读取不创建Sheet对象，始终返回null
+     */
+    @Override
+    public Sheet getSheet() {
+        return row.getSheet();
+    }
+
+    @Override
+    public Row getRow() {
+        return row;
+    }
+
+    @Override
+    public int getCellType() {
+        return cellType;
+    }
+
+    @Override
+    public int getCachedFormulaResultType() {
+        throw new IllegalStateException("Only formula cells have cached results");
+    }
+
+    @Override
+    public String getCellFormula() {
+        throw typeMismatch(CELL_TYPE_FORMULA);
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        if (CELL_TYPE_BLANK == cellType) {
+            return 0.0;
+        }
+        if (CELL_TYPE_NUMERIC != cellType) {
+            throw typeMismatch(CELL_TYPE_NUMERIC);
+        }
+        return numericValue;
+    }
+
+    @Override
+    public Date getDateCellValue() {
+        if (CELL_TYPE_BLANK == cellType) {
+            return null;
+        }
+        return DateUtil.getJavaDate(getNumericCellValue(), date1904);
+    }
+
+    /**
+     * 日期值是否使用1904日期系统，只对数值单元格有意义
+     */
+    boolean isDate1904() {
+        return date1904;
+    }
+
+    @Override
+    public RichTextString getRichStringCellValue() {
+        return new XSSFRichTextString(getStringCellValue());
+    }
+
+    @Override
+    public String getStringCellValue() {
+        if (CELL_TYPE_BLANK == cellType) {
+            return "";
+        }
+        if (CELL_TYPE_STRING != cellType) {
+            throw typeMismatch(CELL_TYPE_STRING);
+        }
+        if (null != sharedStrings) {
+            stringValue = sharedStrings.get(sharedStringIndex);
+            sharedStrings = null;
+        }
+        return stringValue;
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        if (CELL_TYPE_BLANK == cellType) {
+            return false;
+        }
+        if (CELL_TYPE_BOOLEAN != cellType) {
+            throw typeMismatch(CELL_TYPE_BOOLEAN);
+        }
+        return booleanValue;
+    }
+
+    @Override
+    public byte getErrorCellValue() {
+        if (CELL_TYPE_ERROR != cellType) {
+            throw typeMismatch(CELL_TYPE_ERROR);
+        }
+        return errorValue;
+    }
+
+    @Override
+    public CellStyle getCellStyle() {
+        return cellStyle;
+    }
+
+    @Override
+    public Comment getCellComment() {
+        return null;
+    }
+
+    @Override
+    public Hyperlink getHyperlink() {
+        return null;
+    }
+
+    @Override
+    public CellRangeAddress getArrayFormulaRange() {
+        throw new IllegalStateException("Cell is not part of an array formula");
+    }
+
+    @Override
+    public boolean isPartOfArrayFormulaGroup() {
+        return false;
+    }
+
+    @Override
+    public void setCellType(int cellType) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(Date value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(Calendar value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(RichTextString value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellFormula(String formula) throws FormulaParseException {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(boolean value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellErrorValue(byte value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellStyle(CellStyle style) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAsActiveCell() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellComment(Comment comment) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeCellComment() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setHyperlink(Hyperlink link) {
+        throw readOnly();
+    }
+
+    @Override
+    public String toString() {
+        switch (cellType) {
+            case CELL_TYPE_NUMERIC:
+                return String.valueOf(numericValue);
+            case CELL_TYPE_STRING:
+                return getStringCellValue();
+            case CELL_TYPE_BOOLEAN:
+                return booleanValue ? "TRUE" : "FALSE";
+            case CELL_TYPE_ERROR:
+                return "#ERR" + errorValue;
+            default:
+                return "";
+        }
+    }
+
+    private IllegalStateException typeMismatch(int expectedType) {
+        return new IllegalStateException("Cannot get a " + typeName(expectedType)
+                + " value from a " + typeName(cellType) + " cell");
+    }
+
+    private static String typeName(int cellType) {
+        switch (cellType) {
+            case CELL_TYPE_NUMERIC:
+                return "numeric";
+            case CELL_TYPE_STRING:
+                return "text";
+            case CELL_TYPE_FORMULA:
+                return "formula";
+            case CELL_TYPE_BLANK:
+                return "blank";
+            case CELL_TYPE_BOOLEAN:
+                return "boolean";
+            default:
+                return "error";
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("流式读取的单元格不能修改");
+    }
+}
@@ -0,0 +1,202 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 流式读取时使用的只读行
+ * 按列序号保存该行中实际存在的单元格，占用的内存只与行宽有关
+ *
+ * @version V1.0
+ **/
+class StreamingRow implements Row {
+    private static final StreamingCell[] EMPTY = new StreamingCell[0];
+
+    private final int rowNum;
+    private StreamingCell[] cells = EMPTY;
+    private int lastCellNum;
+    private int physicalNumberOfCells;
+
+    StreamingRow(int rowNum) {
+        this.rowNum = rowNum;
+    }
+
+    /**
+     * 添加单元格，同一列重复添加时覆盖
+     */
+    void addCell(StreamingCell cell) {
+        int col = cell.getColumnIndex();
+        if (col >= cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(col + 1, cells.length * 2));
+        }
+        if (null == cells[col]) {
+            physicalNumberOfCells++;
+        }
+        cells[col] = cell;
+        lastCellNum = Math.max(lastCellNum, col + 1);
+    }
+
+    @Override
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public Cell getCell(int cellnum) {
+        return cellnum >= 0 && cellnum < lastCellNum ? cells[cellnum] : null;
+    }
+
+    @Override
+    public Cell getCell(int cellnum, MissingCellPolicy policy) {
+        Cell cell = getCell(cellnum);
+        if (policy == RETURN_BLANK_AS_NULL) {
+            return null != cell && Cell.CELL_TYPE_BLANK == cell.getCellType() ? null : cell;
+        }
+        if (policy == CREATE_NULL_AS_BLANK && null == cell) {
+            return StreamingCell.blank(this, cellnum, null);
+        }
+        return cell;
+    }
+
+    @Override
+    public short getFirstCellNum() {
+        for (int i = 0; i < lastCellNum; i++) {
+            if (null != cells[i]) {
+                return (short) i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public short getLastCellNum() {
+        return (short) (physicalNumberOfCells == 0 ? -1 : lastCellNum);
+    }
+
+    @Override
+    public int getPhysicalNumberOfCells() {
+        return physicalNumberOfCells;
+    }
+
+    @Override
+    public Iterator<Cell> cellIterator() {
+        return new Iterator<Cell>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < lastCellNum && null == cells[from]) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < lastCellNum;
+            }
+
+            @Override
+            public Cell next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Cell cell = cells[next];
+                next = advance(next + 1);
+                return cell;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Cell> iterator() {
+        return cellIterator();
+    }
+
+    /**
+     * 流式读取不创建Sheet对象，始终返回null
+     */
+    @Override
+    public Sheet getSheet() {
+        return null;
+    }
+
+    @Override
+    public short getHeight() {
+        return -1;
+    }
+
+    @Override
+    public float getHeightInPoints() {
+        return -1;
+    }
+
+    @Override
+    public boolean getZeroHeight() {
+        return false;
+    }
+
+    @Override
+    public boolean isFormatted() {
+        return false;
+    }
+
+    @Override
+    public CellStyle getRowStyle() {
+        return null;
+    }
+
+    @Override
+    public Cell createCell(int column) {
+        throw readOnly();
+    }
+
+    @Override
+    public Cell createCell(int column, int type) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeCell(Cell cell) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setRowNum(int rowNum) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setHeight(short height) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setZeroHeight(boolean zHeight) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setHeightInPoints(float height) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setRowStyle(CellStyle style) {
+        throw readOnly();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingRow{rowNum=" + rowNum + ", cells=" + Arrays.toString(Arrays.copyOf(cells, lastCellNum)) + '}';
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("流式读取的行不能修改");
+    }
+}
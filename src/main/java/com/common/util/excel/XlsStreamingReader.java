@@ -0,0 +1,325 @@
+package com.common.util.excel;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 基于HSSF事件模型的xls流式读取
+ * 逐条处理记录并组装成行，不创建HSSFWorkbook，内存占用只与共享字符串表及行宽有关；
+ * 没有任何单元格的行不会输出
+ *
+ * @version V1.0
+ **/
+class XlsStreamingReader implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger(XlsStreamingReader.class);
+
+    private final NPOIFSFileSystem fileSystem;
+
+    private XlsStreamingReader(NPOIFSFileSystem fileSystem) {
+        this.fileSystem = fileSystem;
+    }
+
+    /**
+     * 以只读方式打开xls文件，按块随机读取，不将整个文件读入内存
+     * 关闭时不删除文件
+     *
+     * @param file xls文件
+     */
+    static XlsStreamingReader open(Path file) {
+        try {
+            return new XlsStreamingReader(new NPOIFSFileSystem(file.toFile(), true));
+        } catch (IOException | RuntimeException e) {
+            logger.error("文件不是Excel格式，无法处理", e);
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
+        }
+    }
+
+    /**
+     * 逐行读取Sheet页
+     *
+     * @param sheetIndex Sheet页序号，从0开始
+     * @param consumer   行处理函数，按行号顺序调用
+     */
+    void readSheet(int sheetIndex, Consumer<Row> consumer) {
+        readSheet(sheetIndex, new ColumnSelection(), consumer);
+    }
+
+    /**
+     * 逐行读取Sheet页，未选择的列不解析
+     *
+     * @param sheetIndex Sheet页序号，从0开始
+     * @param selection  需要读取的列，可以在读取过程中设置
+     * @param consumer   行处理函数，按行号顺序调用
+     */
+    void readSheet(int sheetIndex, ColumnSelection selection, Consumer<Row> consumer) {
+        readSheet(sheetIndex, new SheetTarget(selection, consumer));
+    }
+
+    /**
+     * 逐行读取Sheet页，行处理函数抛出ReadStoppedException时停止
+     *
+     * @param sheetIndex Sheet页序号，从0开始
+     * @param target     读取目标
+     */
+    void readSheet(int sheetIndex, SheetTarget target) {
+        int sheetCount = readSheets((index, name) -> index == sheetIndex ? target : null, sheetIndex);
+        if (sheetCount <= sheetIndex) {
+            throw ExcelException.of(ExcelErrorCodes.SHEET_NOT_FOUND).params(sheetIndex + 1)
+                    .details("Excel中不存在第" + (sheetIndex + 1) + "个Sheet页");
+        }
+    }
+
+    /**
+     * 一次遍历逐行读取多个Sheet页
+     *
+     * @param targets 根据Sheet页序号及名称返回读取目标，返回null时跳过该Sheet页
+     * @return 遍历到的Sheet页数
+     */
+    int readSheets(BiFunction<Integer, String, SheetTarget> targets) {
+        return readSheets(targets, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 一次遍历逐行读取多个Sheet页，读取完lastSheet后停止
+     */
+    private int readSheets(BiFunction<Integer, String, SheetTarget> targets, int lastSheet) {
+        SheetListener listener = new SheetListener(targets, lastSheet);
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(listener);
+
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem.getRoot());
+        } catch (IOException e) {
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        } catch (HSSFUserException e) {
+            logger.error("解析Excel内容失败", e);
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
+        }
+
+        return listener.currentSheet + 1;
+    }
+
+    @Override
+    public void close() {
+        try {
+            fileSystem.close();
+        } catch (IOException e) {
+            logger.warn("关闭Excel文件失败", e);
+        }
+    }
+
+    /**
+     * 记录处理，读取完最后一个需要的Sheet页后停止
+     */
+    private static class SheetListener extends AbortableHSSFListener {
+        private final BiFunction<Integer, String, SheetTarget> targets;
+        private final int lastSheet;
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+        private BoundSheetRecord[] orderedSheets;
+        private SSTRecord sst;
+        private boolean date1904;
+        private int currentSheet = -1;
+        private int depth;
+        private SheetTarget target;
+        private StreamingRow row;
+        private FormulaRecord pendingFormula;
+        private boolean aborted;
+
+        SheetListener(BiFunction<Integer, String, SheetTarget> targets, int lastSheet) {
+            this.targets = targets;
+            this.lastSheet = lastSheet;
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) {
+            if (aborted) {
+                return 1;
+            }
+
+            switch (record.getSid()) {
+                case BOFRecord.sid:
+                    depth++;
+                    // 图表、宏等Sheet页同样占用序号，与BoundSheet记录一一对应，只是不读取
+                    int type = ((BOFRecord) record).getType();
+                    if (1 == depth && BOFRecord.TYPE_WORKBOOK != type) {
+                        currentSheet++;
+                        if (BOFRecord.TYPE_WORKSHEET == type) {
+                            target = targets.apply(currentSheet, sheetName(currentSheet));
+                        }
+                    }
+                    return 0;
+                case EOFRecord.sid:
+                    depth--;
+                    if (0 == depth && currentSheet >= 0) {
+                        flush();
+                        target = null;
+                        return (short) (currentSheet >= lastSheet ? 1 : 0);
+                    }
+                    return 0;
+                case BoundSheetRecord.sid:
+                    boundSheets.add((BoundSheetRecord) record);
+                    return 0;
+                case DateWindow1904Record.sid:
+                    date1904 = 1 == ((DateWindow1904Record) record).getWindowing();
+                    return 0;
+                case SSTRecord.sid:
+                    sst = (SSTRecord) record;
+                    return 0;
+                default:
+                    break;
+            }
+
+            // 只处理指定Sheet页本身的单元格，忽略其中嵌入的图表
+            if (null == target || 1 != depth) {
+                return 0;
+            }
+
+            switch (record.getSid()) {
+                case DimensionsRecord.sid:
+                    if (null != target.dimension) {
+                        target.dimension.accept(((DimensionsRecord) record).getLastRow());
+                    }
+                    break;
+                case LabelSSTRecord.sid:
+                    LabelSSTRecord labelSst = (LabelSSTRecord) record;
+                    addCell(labelSst, rowCell -> StreamingCell.string(rowCell, labelSst.getColumn(), null,
+                            sst.getString(labelSst.getSSTIndex()).getString()));
+                    break;
+                case LabelRecord.sid:
+                    LabelRecord label = (LabelRecord) record;
+                    addCell(label, rowCell -> StreamingCell.string(rowCell, label.getColumn(), null, label.getValue()));
+                    break;
+                case NumberRecord.sid:
+                    NumberRecord number = (NumberRecord) record;
+                    addCell(number, rowCell -> StreamingCell.numeric(rowCell, number.getColumn(), null,
+                            number.getValue(), date1904));
+                    break;
+                case BoolErrRecord.sid:
+                    BoolErrRecord boolErr = (BoolErrRecord) record;
+                    addCell(boolErr, rowCell -> boolErr.isBoolean()
+                            ? StreamingCell.bool(rowCell, boolErr.getColumn(), null, boolErr.getBooleanValue())
+                            : StreamingCell.error(rowCell, boolErr.getColumn(), null, boolErr.getErrorValue()));
+                    break;
+                case FormulaRecord.sid:
+                    addFormulaCell((FormulaRecord) record);
+                    break;
+                case StringRecord.sid:
+                    if (null != pendingFormula) {
+                        FormulaRecord formula = pendingFormula;
+                        pendingFormula = null;
+                        addCell(formula, rowCell -> StreamingCell.string(rowCell, formula.getColumn(), null,
+                                ((StringRecord) record).getString()));
+                    }
+                    break;
+                case BlankRecord.sid:
+                    BlankRecord blank = (BlankRecord) record;
+                    addCell(blank, rowCell -> StreamingCell.blank(rowCell, blank.getColumn(), null));
+                    break;
+                case MulBlankRecord.sid:
+                    MulBlankRecord mulBlank = (MulBlankRecord) record;
+                    for (int col = mulBlank.getFirstColumn(); col <= mulBlank.getLastColumn(); col++) {
+                        int blankCol = col;
+                        addCell(mulBlank.getRow(), blankCol, rowCell -> StreamingCell.blank(rowCell, blankCol, null));
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            return 0;
+        }
+
+        /**
+         * 公式单元格使用其缓存的计算结果，字符串结果在随后的StringRecord中
+         */
+        private void addFormulaCell(FormulaRecord formula) {
+            switch (formula.getCachedResultType()) {
+                case Cell.CELL_TYPE_STRING:
+                    if (formula.hasCachedResultString()) {
+                        pendingFormula = formula;
+                    } else {
+                        addCell(formula, rowCell -> StreamingCell.string(rowCell, formula.getColumn(), null, ""));
+                    }
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    addCell(formula, rowCell -> StreamingCell.bool(rowCell, formula.getColumn(), null,
+                            formula.getCachedBooleanValue()));
+                    break;
+                case Cell.CELL_TYPE_ERROR:
+                    addCell(formula, rowCell -> StreamingCell.error(rowCell, formula.getColumn(), null,
+                            (byte) formula.getCachedErrorValue()));
+                    break;
+                default:
+                    addCell(formula, rowCell -> StreamingCell.numeric(rowCell, formula.getColumn(), null,
+                            formula.getValue(), date1904));
+                    break;
+            }
+        }
+
+        private void addCell(CellValueRecordInterface cellRecord, Function<StreamingRow, StreamingCell> factory) {
+            addCell(cellRecord.getRow(), cellRecord.getColumn(), factory);
+        }
+
+        /**
+         * 添加单元格，行号变化时先输出之前的行；未选择的列只保留行，不创建单元格
+         */
+        private void addCell(int rowNum, int col, Function<StreamingRow, StreamingCell> factory) {
+            if (null != row && row.getRowNum() != rowNum) {
+                flush();
+            }
+            // 行处理函数要求停止后忽略该Sheet页其余的单元格
+            if (null == target) {
+                return;
+            }
+            if (null == row) {
+                row = new StreamingRow(rowNum);
+            }
+            if (target.selection.isSelected(col)) {
+                row.addCell(factory.apply(row));
+            }
+        }
+
+        /**
+         * Sheet页名称，BoundSheet记录按Sheet页在文件中的位置排序后与Sheet页一一对应
+         */
+        private String sheetName(int sheetIndex) {
+            if (null == orderedSheets) {
+                orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+            }
+            return sheetIndex < orderedSheets.length ? orderedSheets[sheetIndex].getSheetname() : null;
+        }
+
+        private void flush() {
+            if (null != row) {
+                StreamingRow current = row;
+                row = null;
+                try {
+                    target.consumer.accept(current);
+                } catch (ReadStoppedException e) {
+                    // 停止读取当前Sheet页，已经是最后一个需要的Sheet页时结束遍历
+                    target = null;
+                    aborted = currentSheet >= lastSheet;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,606 @@
+package com.common.util.excel;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * 基于SAX的xlsx流式读取
+ * 逐行解析Sheet页的XML，不创建XSSFWorkbook，内存占用只与共享字符串表及行宽有关
+ *
+ * @version V1.0
+ **/
+class XlsxStreamingReader implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger(XlsxStreamingReader.class);
+    /**
+     * 1899-12-30及1904-01-01的epochDay，分别为1900及1904日期系统的序列号0
+     */
+    private static final long EPOCH_DAY_1900 = LocalDate.of(1899, 12, 30).toEpochDay();
+    private static final long EPOCH_DAY_1904 = LocalDate.of(1904, 1, 1).toEpochDay();
+    private static final double NANOS_PER_DAY = 86400e9;
+
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final SharedStringsBuffer sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+
+    /**
+     * 已经读取过的单元格样式，按样式序号缓存；并发读取多个Sheet页时共用
+     */
+    private final Map<Integer, CellStyle> styleCache = new ConcurrentHashMap<>();
+
+    private XlsxStreamingReader(OPCPackage pkg) throws IOException, OpenXML4JException, SAXException {
+        this.pkg = pkg;
+        this.reader = new XSSFReader(pkg);
+        this.sharedStrings = readSharedStrings();
+        this.styles = reader.getStylesTable();
+        this.date1904 = readDate1904();
+    }
+
+    /**
+     * 以只读方式打开xlsx文件，按zip条目读取，不将整个文件解压到内存中
+     * 关闭时不删除文件
+     *
+     * @param file xlsx文件
+     */
+    static XlsxStreamingReader open(Path file) {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException | RuntimeException e) {
+            logger.error("文件不是Excel格式，无法处理", e);
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
+        }
+
+        try {
+            return new XlsxStreamingReader(pkg);
+        } catch (IOException | OpenXML4JException | SAXException e) {
+            pkg.revert();
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
+        } catch (RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * 逐行读取Sheet页
+     *
+     * @param sheetIndex Sheet页序号，从0开始
+     * @param consumer   行处理函数，按行号顺序调用
+     */
+    void readSheet(int sheetIndex, Consumer<Row> consumer) {
+        readSheet(sheetIndex, new ColumnSelection(), consumer);
+    }
+
+    /**
+     * 逐行读取Sheet页，未选择的列不解析
+     *
+     * @param sheetIndex Sheet页序号，从0开始
+     * @param selection  需要读取的列，可以在读取过程中设置
+     * @param consumer   行处理函数，按行号顺序调用
+     */
+    void readSheet(int sheetIndex, ColumnSelection selection, Consumer<Row> consumer) {
+        readSheet(sheetIndex, new SheetTarget(selection, consumer));
+    }
+
+    /**
+     * 逐行读取Sheet页，行处理函数抛出ReadStoppedException时停止
+     *
+     * @param sheetIndex Sheet页序号，从0开始
+     * @param target     读取目标
+     */
+    void readSheet(int sheetIndex, SheetTarget target) {
+        try {
+            Iterator<InputStream> iterator = reader.getSheetsData();
+            for (int i = 0; iterator.hasNext(); i++) {
+                try (InputStream sheetData = iterator.next()) {
+                    if (i == sheetIndex) {
+                        parse(sheetData, target);
+                        return;
+                    }
+                }
+            }
+        } catch (IOException | InvalidFormatException e) {
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+
+        throw ExcelException.of(ExcelErrorCodes.SHEET_NOT_FOUND).params(sheetIndex + 1)
+                .details("Excel中不存在第" + (sheetIndex + 1) + "个Sheet页");
+    }
+
+    /**
+     * 逐行读取多个Sheet页
+     * parallelism大于1时各Sheet页在所有导入共享的线程池中并发解析，每次调用最多同时解析parallelism个Sheet页，
+     * 同一Sheet页的行仍按顺序交给其处理函数；
+     * 任一Sheet页失败时不再开始解析其它Sheet页，抛出第一个失败的Sheet页的异常
+     *
+     * @param targets     根据Sheet页序号及名称返回读取目标，返回null时跳过该Sheet页
+     * @param parallelism 最多同时解析的Sheet页数
+     * @return Sheet页总数
+     */
+    int readSheets(BiFunction<Integer, String, SheetTarget> targets, int parallelism) {
+        List<PackagePart> parts = new ArrayList<>();
+        List<SheetTarget> sheetTargets = new ArrayList<>();
+        int sheetCount = 0;
+        try {
+            XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (; iterator.hasNext(); sheetCount++) {
+                // 只需要Sheet页的名称及PackagePart，打开的流直接关闭
+                iterator.next().close();
+                SheetTarget target = targets.apply(sheetCount, iterator.getSheetName());
+                if (null != target) {
+                    parts.add(iterator.getSheetPart());
+                    sheetTargets.add(target);
+                }
+            }
+        } catch (IOException | InvalidFormatException e) {
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+
+        if (parallelism <= 1 || parts.size() <= 1) {
+            for (int i = 0; i < parts.size(); i++) {
+                readPart(parts.get(i), sheetTargets.get(i));
+            }
+            return sheetCount;
+        }
+
+        // 在共享的线程池中最多启动parallelism个任务，每个任务依次读取下一个未读取的Sheet页
+        int sheetNumber = parts.size();
+        Throwable[] errors = new Throwable[sheetNumber];
+        AtomicInteger nextSheet = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        Runnable task = () -> {
+            for (int i = nextSheet.getAndIncrement(); i < sheetNumber && !failed.get(); i = nextSheet.getAndIncrement()) {
+                try {
+                    readPart(parts.get(i), sheetTargets.get(i));
+                } catch (Throwable e) {
+                    errors[i] = e;
+                    failed.set(true);
+                }
+            }
+        };
+
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        try {
+            for (int i = 0; i < Math.min(parallelism, sheetNumber); i++) {
+                futures.add(ExcelExecutors.sheets().submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("导入被中断");
+        } catch (ExecutionException e) {
+            // 任务中已捕获所有异常
+            logger.error("读取Sheet页失败", e.getCause());
+            throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("读取Sheet页失败");
+        }
+
+        // 抛出第一个失败的Sheet页的异常
+        for (Throwable error : errors) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            if (null != error) {
+                logger.error("读取Sheet页失败", error);
+                throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("读取Sheet页失败");
+            }
+        }
+        return sheetCount;
+    }
+
+    private void readPart(PackagePart part, SheetTarget target) {
+        try (InputStream sheetData = part.getInputStream()) {
+            parse(sheetData, target);
+        } catch (IOException e) {
+            logger.error("读取上传的文件内容失败！", e);
+            throw ExcelException.of(ExcelErrorCodes.IO_ERROR).details("IO异常，请检查网络状况或重试");
+        }
+    }
+
+    @Override
+    public void close() {
+        sharedStrings.release();
+        // 只读打开，不需要保存
+        pkg.revert();
+    }
+
+    /**
+     * 读取工作簿是否使用1904日期系统
+     */
+    private boolean readDate1904() throws IOException, InvalidFormatException {
+        boolean[] result = new boolean[1];
+        try (InputStream workbookData = reader.getWorkbookData()) {
+            parse(workbookData, new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        result[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+        }
+        return result[0];
+    }
+
+    /**
+     * 读取共享字符串表，字符串以UTF-8编码保存在堆外内存中，使用时才解码
+     */
+    private SharedStringsBuffer readSharedStrings() throws IOException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return new SharedStringsBuffer(0);
+        }
+
+        SharedStringsHandler handler = new SharedStringsHandler();
+        try (InputStream sharedStringsData = parts.get(0).getInputStream()) {
+            parse(sharedStringsData, handler);
+        }
+        return null == handler.buffer ? new SharedStringsBuffer(0) : handler.buffer;
+    }
+
+    /**
+     * 解析Sheet页，行处理函数抛出ReadStoppedException时停止
+     */
+    private void parse(InputStream sheetData, SheetTarget target) throws IOException {
+        try {
+            parse(sheetData, new SheetHandler(target));
+        } catch (ReadStoppedException ignored) {
+            // 不再需要后续的行
+        }
+    }
+
+    private CellStyle getStyle(String styleIndex) {
+        int index = null == styleIndex ? 0 : parseIndex(styleIndex, "样式序号");
+        if (index >= styles.getNumCellStyles()) {
+            return null;
+        }
+        return styleCache.computeIfAbsent(index, styles::getStyleAt);
+    }
+
+    private static void parse(InputStream inputStream, DefaultHandler handler) throws IOException {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            XMLReader xmlReader = factory.newSAXParser().getXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(inputStream));
+        } catch (SAXException e) {
+            if (e.getException() instanceof RuntimeException) {
+                throw (RuntimeException) e.getException();
+            }
+            logger.error("解析Excel内容失败", e);
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "文件格式不是正确的Excel格式");
+        } catch (ParserConfigurationException e) {
+            logger.error("创建XML解析器失败", e);
+            throw ExcelException.of(ExcelErrorCodes.INTERNAL_ERROR).details("创建XML解析器失败");
+        }
+    }
+
+    /**
+     * 解析文件结构中的序号（行号、样式序号、共享字符串序号），格式错误时文件已损坏
+     */
+    private static int parseIndex(String text, String name) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, name + text + "格式错误");
+        }
+    }
+
+    /**
+     * 将ISO 8601格式的日期时间（t="d"的单元格）转换成日期序列号，格式错误时返回NaN
+     * 支持日期、日期时间（可带时区，忽略时区）及只有时间的值
+     */
+    static double dateSerial(String text, boolean date1904) {
+        double days;
+        try {
+            if (text.indexOf('T') >= 0) {
+                TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(text);
+                LocalDateTime dateTime = LocalDateTime.from(parsed);
+                days = dateTime.toLocalDate().toEpochDay() + dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_DAY;
+            } else if (text.indexOf(':') >= 0) {
+                return LocalTime.parse(text).toNanoOfDay() / NANOS_PER_DAY;
+            } else {
+                days = LocalDate.parse(text).toEpochDay();
+            }
+        } catch (DateTimeParseException e) {
+            return Double.NaN;
+        }
+
+        if (date1904) {
+            return days - EPOCH_DAY_1904;
+        }
+
+        // Excel将1900年视为闰年，1900-03-01之前的序列号比实际少一天
+        double serial = days - EPOCH_DAY_1900;
+        return serial < 61 ? serial - 1 : serial;
+    }
+
+    /**
+     * 将单元格引用（如AB12）的行部分转换成行号（从1开始），没有行部分时返回0
+     */
+    static int rowNumber(String ref) {
+        int row = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c >= '0' && c <= '9') {
+                row = row * 10 + (c - '0');
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 将单元格引用（如AB12）的列部分转换成列序号
+     */
+    static int columnIndex(String ref) {
+        int col = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            col = col * 26 + (c - 'A' + 1);
+        }
+        return col - 1;
+    }
+
+    /**
+     * 共享字符串表XML解析
+     * 每个si的文本为其中所有t的内容，富文本的各段依次拼接，不包括拼音（rPh）
+     */
+    private static class SharedStringsHandler extends DefaultHandler {
+        private final StringBuilder value = new StringBuilder(64);
+
+        private SharedStringsBuffer buffer;
+        private boolean collecting;
+        private boolean phonetic;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "sst":
+                    buffer = new SharedStringsBuffer(parseCount(attributes.getValue("uniqueCount")));
+                    break;
+                case "si":
+                    if (null == buffer) {
+                        buffer = new SharedStringsBuffer(0);
+                    }
+                    value.setLength(0);
+                    break;
+                case "rPh":
+                    phonetic = true;
+                    break;
+                case "t":
+                    collecting = !phonetic;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "si":
+                    buffer.add(value);
+                    break;
+                case "rPh":
+                    phonetic = false;
+                    break;
+                case "t":
+                    collecting = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                value.append(ch, start, length);
+            }
+        }
+
+        private static int parseCount(String count) {
+            if (null == count) {
+                return 0;
+            }
+
+            try {
+                return Integer.parseInt(count.trim());
+            } catch (NumberFormatException e) {
+                throw ExcelException.of(ExcelErrorCodes.FILE_NOT_EXCEL, "共享字符串数量" + count + "格式错误");
+            }
+        }
+    }
+
+    /**
+     * Sheet页XML解析
+     */
+    private class SheetHandler extends DefaultHandler {
+        private final ColumnSelection selection;
+        private final Consumer<Row> consumer;
+        private final IntConsumer dimension;
+        private final StringBuilder value = new StringBuilder(64);
+
+        private StreamingRow row;
+        private int rowNum = -1;
+        private int col;
+        private String cellType;
+        private String cellStyle;
+        private boolean collecting;
+        private boolean skipped;
+
+        SheetHandler(SheetTarget target) {
+            this.selection = target.selection;
+            this.consumer = target.consumer;
+            this.dimension = target.dimension;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "dimension":
+                    String dimensionRef = attributes.getValue("ref");
+                    if (null != dimension && null != dimensionRef) {
+                        dimension.accept(rowNumber(dimensionRef.substring(dimensionRef.indexOf(':') + 1)));
+                    }
+                    break;
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowNum = null == r ? rowNum + 1 : parseIndex(r, "行号") - 1;
+                    row = new StreamingRow(rowNum);
+                    col = -1;
+                    break;
+                case "c":
+                    String ref = attributes.getValue("r");
+                    col = null == ref ? col + 1 : columnIndex(ref);
+                    skipped = !selection.isSelected(col);
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    value.setLength(0);
+                    break;
+                case "v":
+                case "t":
+                    collecting = !skipped;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collecting = false;
+                    break;
+                case "c":
+                    if (!skipped) {
+                        row.addCell(createCell());
+                    }
+                    break;
+                case "row":
+                    consumer.accept(row);
+                    row = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                value.append(ch, start, length);
+            }
+        }
+
+        private StreamingCell createCell() {
+            CellStyle style = getStyle(cellStyle);
+            if (value.length() == 0 && !"inlineStr".equals(cellType) && !"str".equals(cellType)) {
+                return StreamingCell.blank(row, col, style);
+            }
+
+            String text = value.toString();
+            if (null == cellType) {
+                return numericCell(style, text);
+            }
+
+            switch (cellType) {
+                case "s":
+                    return StreamingCell.sharedString(row, col, style, sharedStrings,
+                            parseIndex(text, "第" + (rowNum + 1) + "行第" + (col + 1) + "列的共享字符串序号"));
+                case "inlineStr":
+                case "str":
+                    return StreamingCell.string(row, col, style, text);
+                case "b":
+                    return StreamingCell.bool(row, col, style, "1".equals(text) || "true".equalsIgnoreCase(text));
+                case "e":
+                    return StreamingCell.error(row, col, style, errorCode(text));
+                case "d":
+                    double serial = dateSerial(text.trim(), date1904);
+                    return Double.isNaN(serial)
+                            ? StreamingCell.string(row, col, style, text)
+                            : StreamingCell.numeric(row, col, style, serial, date1904);
+                default:
+                    return numericCell(style, text);
+            }
+        }
+
+        /**
+         * 数值格式错误时按文本保留，转换时由该列报告读取数值错误，不影响其它单元格
+         */
+        private StreamingCell numericCell(CellStyle style, String text) {
+            try {
+                return StreamingCell.numeric(row, col, style, Double.parseDouble(text), date1904);
+            } catch (NumberFormatException e) {
+                return StreamingCell.string(row, col, style, text);
+            }
+        }
+
+        private byte errorCode(String text) {
+            try {
+                return FormulaError.forString(text).getCode();
+            } catch (IllegalArgumentException e) {
+                return FormulaError.NA.getCode();
+            }
+        }
+    }
+}
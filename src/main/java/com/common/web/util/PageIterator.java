@@ -0,0 +1,110 @@
+package com.common.web.util;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 分页数据迭代器
+ * 按需逐页调用分页查询函数，遍历时只在内存中保留当前页的数据
+ *
+ * @version V1.0
+ **/
+public class PageIterator<Q, T> implements Iterator<T> {
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final Function<PageQuery<Q>, PageData<T>> pageFetcher;
+    private final PageQuery<Q> pageQuery;
+    private Iterator<T> current = Collections.emptyIterator();
+    private long fetchedCount;
+    private boolean finished;
+
+    private PageIterator(Function<PageQuery<Q>, PageData<T>> pageFetcher, PageQuery<Q> pageQuery) {
+        this.pageFetcher = pageFetcher;
+
+        // 复制查询条件，避免修改调用方的分页对象
+        this.pageQuery = new PageQuery<Q>()
+                .setPageNo(pageQuery.getPageNo())
+                .setPageSize(pageQuery.getPageSize() > 0 ? pageQuery.getPageSize() : DEFAULT_PAGE_SIZE)
+                .setQuery(pageQuery.getQuery());
+    }
+
+    /**
+     * 创建分页迭代器，从pageQuery指定的页开始逐页查询，直到查询结果为空、不足一页或者达到总数
+     *
+     * @param pageFetcher 分页查询函数
+     * @param pageQuery   起始分页查询条件
+     * @param <Q>         查询条件类型
+     * @param <T>         数据类型
+     * @return 迭代器
+     */
+    public static <Q, T> PageIterator<Q, T> of(Function<PageQuery<Q>, PageData<T>> pageFetcher, PageQuery<Q> pageQuery) {
+        return new PageIterator<>(pageFetcher, pageQuery);
+    }
+
+    /**
+     * 创建预取分页迭代器，在后台线程中提前查询后续的页，遍历当前页的同时查询下一页
+     * 使用完成后需要关闭以停止后台查询
+     *
+     * @param pageFetcher   分页查询函数
+     * @param pageQuery     起始分页查询条件
+     * @param prefetchDepth 最多预取的页数，预取的页未被消费时后台查询将等待
+     * @param <Q>           查询条件类型
+     * @param <T>           数据类型
+     * @return 迭代器
+     */
+    public static <Q, T> PrefetchPageIterator<T> prefetch(
+            Function<PageQuery<Q>, PageData<T>> pageFetcher,
+            PageQuery<Q> pageQuery,
+            int prefetchDepth) {
+        return new PrefetchPageIterator<>(of(pageFetcher, pageQuery), prefetchDepth);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !finished) {
+            fetchNextPage();
+        }
+
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    private void fetchNextPage() {
+        current = fetchPage().iterator();
+    }
+
+    /**
+     * 是否已经查询完所有的页
+     */
+    boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * 查询下一页数据
+     *
+     * @return 下一页的数据
+     */
+    List<T> fetchPage() {
+        PageData<T> pageData = pageFetcher.apply(pageQuery);
+        List<T> data = null == pageData || null == pageData.getData() ? Collections.emptyList() : pageData.getData();
+        int totalCount = null == pageData ? 0 : pageData.getTotalCount();
+
+        fetchedCount += data.size();
+        pageQuery.setPageNo(pageQuery.getPageNo() + 1);
+        // 查询时未统计总数（为0）的只根据不满一页判断是否结束
+        finished = data.isEmpty() || data.size() < pageQuery.getPageSize() || (totalCount > 0 && fetchedCount >= totalCount);
+        return data;
+    }
+}
@@ -0,0 +1,143 @@
+package com.common.web.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 预取分页数据迭代器
+ * 由后台线程提前查询后续的页并放入有界队列，消费方处理当前页的同时查询下一页；
+ * 队列满时后台查询等待，查询速度不会超过消费速度
+ * 关闭迭代器或者消费线程被中断时停止后台查询
+ *
+ * @version V1.0
+ **/
+public class PrefetchPageIterator<T> implements Iterator<T>, AutoCloseable {
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    /**
+     * 后台查询线程
+     */
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        Thread thread = new Thread(runnable, "page-prefetch-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    /**
+     * 查询结束标记
+     */
+    private final List<T> end = new ArrayList<>(0);
+
+    private final PageIterator<?, T> pages;
+    private final BlockingQueue<List<T>> queue;
+    private final Thread fetcher;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean ended;
+
+    PrefetchPageIterator(PageIterator<?, T> pages, int prefetchDepth) {
+        this.pages = pages;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, prefetchDepth));
+        this.fetcher = THREAD_FACTORY.newThread(this::fetch);
+        this.fetcher.start();
+    }
+
+    private void fetch() {
+        try {
+            while (!cancelled && !pages.isFinished()) {
+                List<T> page = pages.fetchPage();
+                if (!page.isEmpty()) {
+                    queue.put(page);
+                }
+            }
+        } catch (InterruptedException ignored) {
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            putEnd();
+        }
+    }
+
+    /**
+     * 放入结束标记，查询失败时消费方也不会一直等待；关闭后消费方不再读取队列
+     */
+    private void putEnd() {
+        try {
+            if (!cancelled) {
+                queue.put(end);
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !ended) {
+            if (cancelled) {
+                throw new CancellationException("分页查询已取消");
+            }
+
+            List<T> page;
+            try {
+                page = queue.take();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("分页查询被中断");
+            }
+
+            if (page == end) {
+                ended = true;
+                rethrowError();
+            } else {
+                current = page.iterator();
+            }
+        }
+
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    private void rethrowError() {
+        Throwable e = error;
+        if (null == e) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalStateException(e);
+    }
+
+    /**
+     * 停止后台查询并丢弃已预取的数据
+     */
+    @Override
+    public void close() {
+        if (!cancelled) {
+            cancelled = true;
+            fetcher.interrupt();
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.common.util.excel;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 使用临时生成的xlsx及xls文件验证读取、收集错误及预览
+ */
+public class ExcelUtilsReadTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void read() throws IOException {
+        for (File file : fixtures(20)) {
+            List<Person> data;
+            try (InputStream in = new FileInputStream(file)) {
+                data = ExcelUtils.read(file.getName(), in, columns(), Person.class);
+            }
+
+            assertEquals(file.getName(), 3, data.size());
+            assertEquals("张三", data.get(0).getName());
+            assertEquals(Integer.valueOf(20), data.get(0).getAge());
+            assertEquals(LocalDate.of(2020, 1, 15), data.get(0).getBirthday());
+            assertEquals(LocalDate.of(2020, 2, 29), data.get(1).getBirthday());
+            assertEquals("王五", data.get(2).getName());
+        }
+    }
+
+    @Test
+    public void readWithErrors() throws IOException {
+        for (File file : fixtures("abc")) {
+            ExcelReadResult<Person> result;
+            try (InputStream in = new FileInputStream(file)) {
+                result = ExcelUtils.readWithErrors(file.getName(), in, columns(), Person.class, ExcelReadOptions.of());
+            }
+
+            assertEquals(file.getName(), 2, result.getData().size());
+            assertEquals(1, result.getErrors().size());
+            ExcelReadError error = result.getErrors().get(0);
+            assertEquals(ExcelErrorCodes.READ_NUMBER_ERROR, error.getCode());
+            assertEquals(1, error.getRowNum());
+            assertEquals(1, error.getColumnIndex());
+        }
+    }
+
+    @Test
+    public void preview() throws IOException {
+        for (File file : fixtures(20)) {
+            ExcelPreview<Person> preview;
+            try (InputStream in = new FileInputStream(file)) {
+                preview = ExcelUtils.preview(file.getName(), in, columns(), Person.class, 2);
+            }
+
+            assertEquals(file.getName(), 2, preview.getData().size());
+            assertEquals("李四", preview.getData().get(1).getName());
+            assertFalse(preview.isComplete());
+            // POI生成的xlsx中dimension固定为A1，维度信息不正确时总行数为-1
+            assertEquals(file.getName().endsWith(".xls") ? 3 : -1, preview.getRowCount());
+
+            try (InputStream in = new FileInputStream(file)) {
+                preview = ExcelUtils.preview(file.getName(), in, columns(), Person.class, 10);
+            }
+            assertEquals(3, preview.getData().size());
+            assertTrue(preview.isComplete());
+            assertEquals(3, preview.getRowCount());
+        }
+    }
+
+    private static List<ExcelColumn<Person>> columns() {
+        return Arrays.asList(
+                new ExcelColumn<Person>("姓名", "name"),
+                new ExcelColumn<Person>("年龄", "age").setType(ExcelColumnType.NUMBER),
+                new ExcelColumn<Person>("生日", "birthday").setType(ExcelColumnType.DATE));
+    }
+
+    /**
+     * 生成内容相同的xlsx及xls文件，第一个数据行的年龄单元格写入firstAge，为字符串时写入文本单元格
+     */
+    private List<File> fixtures(Object firstAge) throws IOException {
+        return Arrays.asList(fixture("people.xlsx", XSSFWorkbook::new, firstAge),
+                fixture("people.xls", HSSFWorkbook::new, firstAge));
+    }
+
+    private File fixture(String fileName, Supplier<Workbook> factory, Object firstAge) throws IOException {
+        Workbook workbook = factory.get();
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+        Sheet sheet = workbook.createSheet("人员");
+        Row title = sheet.createRow(0);
+        title.createCell(0).setCellValue("姓名");
+        title.createCell(1).setCellValue("年龄");
+        title.createCell(2).setCellValue("生日");
+
+        Object[][] rows = {{"张三", firstAge, 43845}, {"李四", 30, 43890}, {"王五", 40, 43900}};
+        for (int i = 0; i < rows.length; i++) {
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue((String) rows[i][0]);
+            if (rows[i][1] instanceof String) {
+                row.createCell(1).setCellValue((String) rows[i][1]);
+            } else {
+                row.createCell(1).setCellValue((Integer) rows[i][1]);
+            }
+            row.createCell(2).setCellValue((Integer) rows[i][2]);
+            row.getCell(2).setCellStyle(dateStyle);
+        }
+
+        File file = folder.newFile(fileName);
+        try (OutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    public static class Person {
+        private String name;
+        private Integer age;
+        private LocalDate birthday;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public LocalDate getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(LocalDate birthday) {
+            this.birthday = birthday;
+        }
+    }
+}
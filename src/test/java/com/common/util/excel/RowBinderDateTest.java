@@ -0,0 +1,36 @@
+package com.common.util.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 日期序列值的转换结果与POI的DateUtil一致，包括1900年2月29日附近及四舍五入到整天的时间
+ */
+public class RowBinderDateTest {
+    private static final double[] SERIALS = {0, 59, 60, 61, 1.9999999, 0.5, 43831.75, 0.99999999999};
+
+    @Test
+    public void serialToLocalDateTime1900() {
+        for (double serial : SERIALS) {
+            assertEquals("serial " + serial, poiDateTime(serial, false), RowBinder.serialToLocalDateTime(serial, false));
+        }
+    }
+
+    @Test
+    public void serialToLocalDateTime1904() {
+        for (double serial : SERIALS) {
+            assertEquals("serial " + serial, poiDateTime(serial, true), RowBinder.serialToLocalDateTime(serial, true));
+        }
+    }
+
+    private static LocalDateTime poiDateTime(double serial, boolean date1904) {
+        return LocalDateTime.ofInstant(DateUtil.getJavaDate(serial, date1904, TimeZone.getTimeZone("UTC")).toInstant(),
+                ZoneOffset.UTC);
+    }
+}